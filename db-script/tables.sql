@@ -1,3 +1,8 @@
+-- Script original do schema (anterior ao Flyway), mantido como referência.
+-- O schema da aplicação vem de spring-project/src/main/resources/db/migration: a V1 equivale a este
+-- script com os tipos alinhados às entidades, a V8 converte esses tipos e a V9 renomeia os dias
+-- ('Mon'..'Sun' daqui -> 'segunda'..'domingo') em bancos que foram criados por ele.
+
 -- SCHEMA
 CREATE SCHEMA IF NOT EXISTS rafalift;
 SET search_path TO rafalift;
@@ -0,0 +1,20 @@
+// Dias da semana: o app mostra 'Mon'..'Sun', a API usa os nomes de days_categories
+// ('segunda'..'domingo', os mesmos do frontend Quasar). A conversão fica só nos services.
+const Map<String, String> _apiDayNames = {
+  'Mon': 'segunda',
+  'Tue': 'terca',
+  'Wed': 'quarta',
+  'Thu': 'quinta',
+  'Fri': 'sexta',
+  'Sat': 'sabado',
+  'Sun': 'domingo',
+};
+
+String toApiDay(String day) => _apiDayNames[day] ?? day;
+
+String fromApiDay(String day) {
+  for (final entry in _apiDayNames.entries) {
+    if (entry.value == day) return entry.key;
+  }
+  return day;
+}
@@ -1,6 +1,7 @@
 import 'dart:convert';
 import 'package:flutter/material.dart';
 import 'package:flutter_project/pages/services/auth.dart';
+import 'package:flutter_project/pages/services/days.dart';
 import 'package:flutter_project/pages/account/intro_page.dart';
 
 class FoodService {
@@ -34,7 +35,7 @@ class FoodService {
 
   Future<List<Map<String, dynamic>>> getFoodsByDay(String day) async {
     await _handleTokenExpiry();
-    final response = await authService.dio.get("/DietDay/$day");
+    final response = await authService.dio.get("/DietDay/${toApiDay(day)}");
     if (response.statusCode == 200) {
       return List<Map<String, dynamic>>.from(response.data);
     }
@@ -44,7 +45,7 @@ class FoodService {
   Future<void> addFood(String day, Map<String, dynamic> food) async {
     await _handleTokenExpiry();
     final response = await authService.dio.post(
-      "/DietDay/$day",
+      "/DietDay/${toApiDay(day)}",
       data: jsonEncode(food),
     );
     if (response.statusCode != 200) {
@@ -55,7 +56,7 @@ class FoodService {
   Future<void> updateFood(String day, int foodId, Map<String, dynamic> food) async {
     await _handleTokenExpiry();
     final response = await authService.dio.put(
-      "/DietDay/$day/$foodId",
+      "/DietDay/${toApiDay(day)}/$foodId",
       data: jsonEncode(food),
     );
     if (response.statusCode != 200) {
@@ -65,7 +66,7 @@ class FoodService {
 
   Future<void> deleteFood(String day, int foodId) async {
     await _handleTokenExpiry();
-    final response = await authService.dio.delete("/DietDay/$day/$foodId");
+    final response = await authService.dio.delete("/DietDay/${toApiDay(day)}/$foodId");
     if (response.statusCode != 204) {
       throw Exception("Error deleting food: ${response.statusCode}");
     }
@@ -1,6 +1,7 @@
 import 'dart:convert';
 import 'package:flutter/material.dart';
 import 'package:flutter_project/pages/services/auth.dart';
+import 'package:flutter_project/pages/services/days.dart';
 import 'package:flutter_project/pages/account/intro_page.dart';
 
 class WeeklyService {
@@ -36,7 +37,10 @@ class WeeklyService {
     await _handleTokenExpiry();
     final response = await authService.dio.get("/workouts");
     if (response.statusCode == 200) {
-      return List<Map<String, dynamic>>.from(response.data);
+      return List<Map<String, dynamic>>.from(response.data).map((workout) => {
+        ...workout,
+        'days': List<String>.from(workout['days'] ?? []).map(fromApiDay).toList(),
+      }).toList();
     }
     throw Exception("Error fetching workouts: ${response.statusCode}");
   }
@@ -44,19 +48,18 @@ class WeeklyService {
 Future<List<Map<String, dynamic>>> getWorkoutByDay(String day) async {
   await _handleTokenExpiry();
   try {
-    final response = await authService.dio.get("/workouts/$day");
+    final response = await authService.dio.get("/workouts/${toApiDay(day)}");
     if (response.statusCode == 200) {
-      final workouts = List<Map<String, dynamic>>.from(response.data);
+      final exercises = List<Map<String, dynamic>>.from(response.data);
+      // Cada exercício traz workout.workoutCategory.nome, o nome do treino do dia
+      final setName = exercises.isEmpty
+          ? 'A' // Padrão para 'A' se não encontrado
+          : exercises.first['workout']?['workoutCategory']?['nome'] ?? 'A';
+
       // Adicionar o split a cada exercício
-      final userWorkouts = await getUserWorkouts();
-      final workoutForDay = userWorkouts.firstWhere(
-        (workout) => workout['days'].contains(day),
-        orElse: () => {'setName': 'A'}, // Padrão para 'A' se não encontrado
-      );
-      
-      return workouts.map((exercise) => {
+      return exercises.map((exercise) => {
         ...exercise,
-        'split': workoutForDay['setName'],
+        'split': setName,
       }).toList();
     }
     throw Exception("Error fetching workout for day $day: ${response.statusCode}");
@@ -75,7 +78,7 @@ Future<List<Map<String, dynamic>>> getWorkoutByDay(String day) async {
       "/workouts/set-days",
       data: jsonEncode({
         "setName": workoutName,
-        "days": days,
+        "days": days.map(toApiDay).toList(),
       }),
     );
     if (response.statusCode != 200) {
@@ -0,0 +1,114 @@
+package com.rafalift.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Cliente HTTP da API do spring-project. O HttpClient roda em threads virtuais,
+ * então cada usuário simulado é só uma thread virtual bloqueando na resposta.
+ */
+public class ApiClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final URI baseUrl;
+
+    public ApiClient(URI baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    // Cadastro é idempotente para o teste: 400 significa que o usuário já existe
+    public void register(String name, String email, String password) throws IOException, InterruptedException {
+        String body = MAPPER.writeValueAsString(MAPPER.createObjectNode()
+                .put("nome", name)
+                .put("email", email)
+                .put("senha", password));
+        HttpResponse<String> response = send(post("/auth/register", body).build());
+        if (response.statusCode() != 200 && response.statusCode() != 400) {
+            throw new IOException("register falhou: HTTP " + response.statusCode());
+        }
+    }
+
+    public String login(String email, String password) throws IOException, InterruptedException {
+        String body = MAPPER.writeValueAsString(MAPPER.createObjectNode()
+                .put("login", email)
+                .put("password", password));
+        HttpResponse<String> response = send(post("/auth/login", body).build());
+        if (response.statusCode() != 200) {
+            throw new IOException("login falhou: HTTP " + response.statusCode());
+        }
+        JsonNode json = MAPPER.readTree(response.body());
+        return json.get("access_token").asText();
+    }
+
+    public HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    public HttpResponse<String> post(String path, String token, String json) throws IOException, InterruptedException {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    public HttpResponse<String> put(String path, String token, String json) throws IOException, InterruptedException {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    public HttpResponse<String> delete(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).DELETE().build());
+    }
+
+    // Soma de uma métrica do /actuator/prometheus (todas as séries); 0 se ela ainda não existe
+    public double scrapeSum(URI prometheusUrl, String metric) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(prometheusUrl)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build());
+        if (response.statusCode() != 200) {
+            throw new IOException(prometheusUrl + " falhou: HTTP " + response.statusCode());
+        }
+        double sum = 0;
+        for (String line : response.body().split("\n")) {
+            if (line.startsWith(metric + "{") || line.startsWith(metric + " ")) {
+                sum += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        return sum;
+    }
+
+    public HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    public HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+}
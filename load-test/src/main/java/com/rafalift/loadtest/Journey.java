@@ -0,0 +1,152 @@
+package com.rafalift.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Jornadas reproduzidas pelo teste de carga, na mesma sequência de chamadas do frontend.
+ * As edições criam e removem o próprio item, então os dados da conta não crescem durante o teste.
+ */
+public enum Journey {
+
+    // Tela de login
+    LOGIN("login") {
+        @Override
+        void run(ApiClient client, Account account) throws IOException, InterruptedException {
+            client.login(account.email(), account.password());
+        }
+    },
+
+    // IndexPage: treino e dieta de hoje
+    TODAY("today") {
+        @Override
+        void run(ApiClient client, Account account) throws IOException, InterruptedException {
+            String day = today();
+            check(client.get("/workouts/" + day, account.token()));
+            check(client.get("/DietDay/" + day, account.token()));
+        }
+    },
+
+    // Página do dia da dieta: lista, adiciona, edita, confere o resumo e remove um alimento
+    DIET_EDIT("diet-edit") {
+        @Override
+        void run(ApiClient client, Account account) throws IOException, InterruptedException {
+            String day = randomDay();
+            String token = account.token();
+            check(client.get("/DietDay/" + day, token));
+            int foodId = id(check(client.post("/DietDay/" + day, token, food(100))));
+            check(client.put("/DietDay/" + day + "/" + foodId, token, food(150)));
+            check(client.get("/DietDay/" + day + "/summary", token));
+            check(client.delete("/DietDay/" + day + "/" + foodId, token));
+        }
+    },
+
+    // Página do treino: lista, adiciona, edita e remove um exercício
+    SET_EDIT("set-edit") {
+        @Override
+        void run(ApiClient client, Account account) throws IOException, InterruptedException {
+            String set = randomSet();
+            String token = account.token();
+            check(client.get("/WorkoutSet/" + set, token));
+            int exerciseId = id(check(client.post("/WorkoutSet/" + set, token, exercise(40))));
+            check(client.put("/WorkoutSet/" + set + "/" + exerciseId, token, exercise(45)));
+            check(client.delete("/WorkoutSet/" + set + "/" + exerciseId, token));
+        }
+    },
+
+    // Agenda semanal: troca os dias de um treino e recarrega a lista
+    SET_DAYS("set-days") {
+        @Override
+        void run(ApiClient client, Account account) throws IOException, InterruptedException {
+            List<String> days = List.of(randomDay(), randomDay());
+            String body = MAPPER.writeValueAsString(MAPPER.createObjectNode()
+                    .put("setName", randomSet())
+                    .set("days", MAPPER.valueToTree(days.stream().distinct().toList())));
+            check(client.post("/workouts/set-days", account.token(), body));
+            check(client.get("/workouts", account.token()));
+        }
+    };
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<String> DAYS = List.of("segunda", "terca", "quarta", "quinta", "sexta", "sabado", "domingo");
+    private static final List<String> SETS = List.of("A", "B", "C", "D", "E");
+
+    private final String journeyName;
+
+    Journey(String journeyName) {
+        this.journeyName = journeyName;
+    }
+
+    public String journeyName() {
+        return journeyName;
+    }
+
+    abstract void run(ApiClient client, Account account) throws IOException, InterruptedException;
+
+    public static Journey fromName(String name) {
+        for (Journey journey : values()) {
+            if (journey.journeyName.equals(name)) {
+                return journey;
+            }
+        }
+        throw new IllegalArgumentException("Jornada desconhecida: " + name);
+    }
+
+    public record Account(String email, String password, String token) {}
+
+    private static HttpResponse<String> check(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() >= 400) {
+            throw new IOException(response.request().method() + " " + response.uri().getPath()
+                    + ": HTTP " + response.statusCode());
+        }
+        return response;
+    }
+
+    private static int id(HttpResponse<String> response) throws IOException {
+        return MAPPER.readTree(response.body()).get("id").asInt();
+    }
+
+    private static String food(int peso) throws IOException {
+        return MAPPER.writeValueAsString(MAPPER.createObjectNode()
+                .put("tipo_alimento", "lunch")
+                .put("alimento", "load test")
+                .put("peso", peso)
+                .put("carboidratos", 20)
+                .put("proteinas", 10)
+                .put("fibras", 3)
+                .put("gorduras", 5)
+                .put("calorias", 165)
+                .put("anotacao", "")
+                .put("horario", "12:00"));
+    }
+
+    private static String exercise(int peso) throws IOException {
+        return MAPPER.writeValueAsString(MAPPER.createObjectNode()
+                .put("grupo_muscular", "peito")
+                .put("nome", "load test")
+                .put("peso", peso)
+                .put("series", 4)
+                .put("repeticoes", 10)
+                .put("tempo", 60)
+                .put("anotacao", ""));
+    }
+
+    private static String today() {
+        DayOfWeek dayOfWeek = LocalDate.now().getDayOfWeek();
+        return DAYS.get(dayOfWeek.getValue() - 1);
+    }
+
+    private static String randomDay() {
+        return DAYS.get(ThreadLocalRandom.current().nextInt(DAYS.size()));
+    }
+
+    private static String randomSet() {
+        return SETS.get(ThreadLocalRandom.current().nextInt(SETS.size()));
+    }
+}
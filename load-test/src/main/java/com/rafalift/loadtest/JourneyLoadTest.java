@@ -0,0 +1,139 @@
+package com.rafalift.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mistura de jornadas em laço fechado: cada usuário simulado sorteia uma jornada pelo peso do --mix
+ * e a executa com uma das contas de teste (--users). Mede vazão e latência por jornada e, depois da
+ * carga, roda cada jornada sozinha para medir quantos comandos SQL ela gera
+ * (http_server_requests_statements do /actuator/prometheus, na porta de gerenciamento: --metrics-url).
+ */
+public class JourneyLoadTest {
+
+    private static final String STATEMENTS_METRIC = "http_server_requests_statements_sum";
+    private static final int PROFILE_RUNS = 20;
+    private static final Duration SETTLE_INTERVAL = Duration.ofMillis(100);
+
+    public static void run(ApiClient client, LoadTestOptions options) throws Exception {
+        List<Journey.Account> accounts = createAccounts(client, options);
+        Journey[] weighted = weighted(options.mix());
+
+        runMix(client, options, accounts, weighted, options.warmup());
+        Map<Journey, Stats> stats = runMix(client, options, accounts, weighted, options.duration());
+
+        double seconds = options.duration().toNanos() / 1e9;
+        for (Journey journey : options.mix().keySet()) {
+            Stats journeyStats = stats.get(journey);
+            Histogram latencies = journeyStats.latencies();
+            System.out.printf("%s journey=%s concurrency=%d journeys=%d errors=%d throughput=%.1f journeys/s "
+                            + "p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms statements=%.1f%n",
+                    options.label(), journey.journeyName(), options.concurrency(), latencies.getTotalCount(),
+                    journeyStats.errors().get(), latencies.getTotalCount() / seconds,
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()),
+                    statementsPerJourney(client, options, journey, accounts.get(0)));
+        }
+    }
+
+    // Contas journey-<n>-<email>; o login acontece uma vez aqui, fora da medição
+    private static List<Journey.Account> createAccounts(ApiClient client, LoadTestOptions options)
+            throws IOException, InterruptedException {
+        List<Journey.Account> accounts = new ArrayList<>(options.users());
+        for (int i = 0; i < options.users(); i++) {
+            String email = "journey-" + i + "-" + options.email();
+            client.register("Load Test " + i, email, options.password());
+            accounts.add(new Journey.Account(email, options.password(), client.login(email, options.password())));
+        }
+        return accounts;
+    }
+
+    private static Journey[] weighted(Map<Journey, Integer> mix) {
+        List<Journey> draws = new ArrayList<>();
+        mix.forEach((journey, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                draws.add(journey);
+            }
+        });
+        if (draws.isEmpty()) {
+            throw new IllegalArgumentException("--mix precisa de pelo menos uma jornada com peso positivo");
+        }
+        return draws.toArray(Journey[]::new);
+    }
+
+    private static Map<Journey, Stats> runMix(ApiClient client, LoadTestOptions options, List<Journey.Account> accounts,
+                                              Journey[] weighted, Duration duration) {
+        Map<Journey, Stats> stats = new EnumMap<>(Journey.class);
+        for (Journey journey : Journey.values()) {
+            stats.put(journey, new Stats(new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3), new AtomicLong()));
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (var users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                Journey.Account account = accounts.get(i % accounts.size());
+                users.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Journey journey = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+                        Stats journeyStats = stats.get(journey);
+                        long start = System.nanoTime();
+                        try {
+                            journey.run(client, account);
+                        } catch (Exception e) {
+                            journeyStats.errors().incrementAndGet();
+                        }
+                        Histogram latencies = journeyStats.latencies();
+                        latencies.recordValue(Math.min(System.nanoTime() - start, latencies.getHighestTrackableValue()));
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    // Sem carga concorrente, a diferença do total de comandos antes/depois é só desta jornada
+    private static double statementsPerJourney(ApiClient client, LoadTestOptions options, Journey journey,
+                                               Journey.Account account) throws IOException, InterruptedException {
+        double before = settledStatements(client, options);
+        for (int i = 0; i < PROFILE_RUNS; i++) {
+            journey.run(client, account);
+        }
+        double after = settledStatements(client, options);
+        return (after - before) / PROFILE_RUNS;
+    }
+
+    // O servidor registra a contagem depois de enviar a resposta: espera o total parar de mudar
+    private static double settledStatements(ApiClient client, LoadTestOptions options)
+            throws IOException, InterruptedException {
+        double previous = client.scrapeSum(options.metricsUrl(), STATEMENTS_METRIC);
+        for (int attempt = 0; attempt < 10; attempt++) {
+            Thread.sleep(SETTLE_INTERVAL.toMillis());
+            double current = client.scrapeSum(options.metricsUrl(), STATEMENTS_METRIC);
+            if (current == previous) {
+                return current;
+            }
+            previous = current;
+        }
+        return previous;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private record Stats(Histogram latencies, AtomicLong errors) {}
+}
@@ -0,0 +1,87 @@
+package com.rafalift.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga em laço fechado: N usuários simultâneos (threads virtuais) repetindo um GET autenticado
+ * (--scenario=get, padrão) ou uma mistura de jornadas do app (--scenario=journeys, ver JourneyLoadTest).
+ * Para comparar executores, rode a mesma carga contra a aplicação com e sem o profile vthreads
+ * e compare vazão e p99 das duas linhas de resultado.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ApiClient client = new ApiClient(options.baseUrl());
+        if ("journeys".equals(options.scenario())) {
+            JourneyLoadTest.run(client, options);
+            return;
+        }
+
+        client.register("Load Test", options.email(), options.password());
+        String token = client.login(options.email(), options.password());
+
+        run(client, options, token, options.warmup());
+        Result result = run(client, options, token, options.duration());
+        result.print(options);
+    }
+
+    private static Result run(ApiClient client, LoadTestOptions options, String token,
+                              Duration duration) throws InterruptedException {
+        Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (var users = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Runnable> loops = new ArrayList<>(options.concurrency());
+            for (int i = 0; i < options.concurrency(); i++) {
+                loops.add(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = client.get(options.path(), token);
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.recordValue(Math.min(System.nanoTime() - start, latencies.getHighestTrackableValue()));
+                    }
+                });
+            }
+            loops.forEach(users::submit);
+        }
+        return new Result(latencies, errors.get(), duration.toNanos());
+    }
+
+    private record Result(Histogram latencies, long errors, long elapsedNanos) {
+
+        void print(LoadTestOptions options) {
+            long requests = latencies.getTotalCount();
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("%s %s concurrency=%d requests=%d errors=%d throughput=%.1f req/s "
+                            + "p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                    options.label(), options.path(), options.concurrency(), requests, errors,
+                    requests / seconds,
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.rafalift.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opções no formato --chave=valor. Exemplos:
+ * --base-url=http://localhost:8080 --label=vthreads --concurrency=200 --duration=60s --path=/week
+ * --scenario=journeys --users=20 --mix=today:40,diet-edit:25,set-edit:15,set-days:10,login:10
+ * --metrics-url=http://localhost:8090/actuator/prometheus (porta de gerenciamento da aplicação)
+ */
+public record LoadTestOptions(URI baseUrl, URI metricsUrl, String label, String scenario, int concurrency, Duration warmup,
+                              Duration duration, String path, String email, String password, int users,
+                              Map<Journey, Integer> mix) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = values(args);
+        return new LoadTestOptions(
+                URI.create(values.getOrDefault("base-url", "http://localhost:8080")),
+                URI.create(values.getOrDefault("metrics-url", "http://localhost:8090/actuator/prometheus")),
+                values.getOrDefault("label", "run"),
+                values.getOrDefault("scenario", "get"),
+                Integer.parseInt(values.getOrDefault("concurrency", "200")),
+                parseDuration(values.getOrDefault("warmup", "10s")),
+                parseDuration(values.getOrDefault("duration", "60s")),
+                values.getOrDefault("path", "/week"),
+                values.getOrDefault("email", "load-test@rafalift.com"),
+                values.getOrDefault("password", "load-test"),
+                Integer.parseInt(values.getOrDefault("users", "20")),
+                parseMix(values.getOrDefault("mix", "today:40,diet-edit:25,set-edit:15,set-days:10,login:10")));
+    }
+
+    private static Map<Journey, Integer> parseMix(String value) {
+        Map<Journey, Integer> mix = new EnumMap<>(Journey.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida em --mix: " + entry);
+            }
+            mix.put(Journey.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    // Também usado pelas opções do StartupBenchmark
+    static Map<String, String> values(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return values;
+    }
+
+    // Aceita "30s", "2m" ou ISO-8601 ("PT30S")
+    static Duration parseDuration(String value) {
+        if (value.startsWith("P")) {
+            return Duration.parse(value);
+        }
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
@@ -0,0 +1,139 @@
+package com.rafalift.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tempo até a primeira requisição bem-sucedida: sobe o jar da aplicação como processo filho,
+ * consulta --url até receber 200 e mede desde o início do processo. Repete --runs vezes e imprime
+ * mínimo/mediana/máximo, junto com o "Started ... in X seconds" do log do Spring.
+ * Exemplo (jar extraído com o arquivo CDS do profile startup do spring-project):
+ * --label=cds --jar=../spring-project/target/extracted/spring-project-0.0.1-SNAPSHOT.jar
+ * --jvm-args="-XX:SharedArchiveFile=../spring-project/target/extracted/application.jsa -Dspring.aot.enabled=true"
+ */
+public class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+
+    record Options(String label, Path jar, List<String> jvmArgs, List<String> appArgs, URI url, int runs,
+                   Duration timeout) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = LoadTestOptions.values(args);
+            String jar = values.get("jar");
+            if (jar == null) {
+                throw new IllegalArgumentException("--jar é obrigatório");
+            }
+            return new Options(
+                    values.getOrDefault("label", "startup"),
+                    Path.of(jar),
+                    split(values.getOrDefault("jvm-args", "")),
+                    split(values.getOrDefault("app-args", "")),
+                    URI.create(values.getOrDefault("url", "http://localhost:8090/actuator/health")),
+                    Integer.parseInt(values.getOrDefault("runs", "5")),
+                    LoadTestOptions.parseDuration(values.getOrDefault("timeout", "120s")));
+        }
+
+        private static List<String> split(String value) {
+            return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+        }
+    }
+
+    private record Run(long firstRequestNanos, Double startedSeconds) {}
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(500))
+                .build();
+
+        List<Run> runs = new ArrayList<>(options.runs());
+        for (int i = 0; i < options.runs(); i++) {
+            Run run = runOnce(client, options, i);
+            System.out.printf("%s run=%d first_request=%.0fms started=%s%n", options.label(), i + 1,
+                    run.firstRequestNanos() / 1e6,
+                    run.startedSeconds() != null ? run.startedSeconds() + "s" : "?");
+            runs.add(run);
+        }
+
+        long[] firstRequest = runs.stream().mapToLong(Run::firstRequestNanos).sorted().toArray();
+        double[] started = runs.stream().filter(run -> run.startedSeconds() != null)
+                .mapToDouble(Run::startedSeconds).sorted().toArray();
+        System.out.printf("%s runs=%d first_request min=%.0fms median=%.0fms max=%.0fms started median=%s%n",
+                options.label(), firstRequest.length,
+                firstRequest[0] / 1e6, firstRequest[firstRequest.length / 2] / 1e6,
+                firstRequest[firstRequest.length - 1] / 1e6,
+                started.length > 0 ? started[started.length / 2] + "s" : "?");
+    }
+
+    private static Run runOnce(HttpClient client, Options options, int index) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options.jvmArgs());
+        command.add("-jar");
+        command.add(options.jar().toString());
+        command.addAll(options.appArgs());
+
+        Path log = Files.createDirectories(Path.of("target"))
+                .resolve("startup-" + options.label() + "-" + (index + 1) + ".log");
+        HttpRequest probe = HttpRequest.newBuilder(options.url()).timeout(Duration.ofSeconds(2)).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + options.timeout().toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("a aplicação terminou antes de responder; veja " + log);
+                }
+                if (succeeds(client, probe)) {
+                    long elapsed = System.nanoTime() - start;
+                    return new Run(elapsed, startedSeconds(log));
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("sem resposta 200 em " + options.timeout() + "; veja " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean succeeds(HttpClient client, HttpRequest probe) throws InterruptedException {
+        try {
+            return client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false; // porta ainda fechada
+        }
+    }
+
+    // O servidor web já responde antes do log "Started ..." sair; espera até 1s pela linha
+    private static Double startedSeconds(Path log) throws IOException, InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Matcher matcher = STARTED.matcher(Files.readString(log));
+            if (matcher.find()) {
+                return Double.parseDouble(matcher.group(1));
+            }
+            Thread.sleep(10);
+        }
+        return null;
+    }
+}
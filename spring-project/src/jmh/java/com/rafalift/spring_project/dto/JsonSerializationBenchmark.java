@@ -0,0 +1,72 @@
+package com.rafalift.spring_project.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson das respostas mais chamadas, no tamanho de um dia real e de um dia carregado:
+ * alimentos do dia (GET /DietDay/{day}), exercícios do treino (GET /WorkoutSet/{set})
+ * e os treinos do usuário com seus dias (GET /workouts).
+ * O ObjectMapper vem do mesmo builder que o Spring Boot usa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final List<String> DAYS = List.of("segunda", "terca", "quarta", "quinta", "sexta", "sabado", "domingo");
+
+    @Param({"10", "50", "200"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<FoodDTO> foods;
+    private List<ExerciseDTO> exercises;
+    private List<UserWorkoutDTO> workouts;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        foods = new ArrayList<>(size);
+        exercises = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            foods.add(new FoodDTO(i, "lunch", "alimento " + i, 100, 20, 10, 3, 5, 165,
+                    "anotação do alimento " + i, LocalTime.of(8 + i % 12, i % 60)));
+            exercises.add(new ExerciseDTO(i, "peito", "exercício " + i, 40 + i % 30, 4, 10, 60,
+                    "anotação do exercício " + i));
+        }
+
+        // Treinos A-E, cada um em dois dias da semana
+        workouts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            workouts.add(new UserWorkoutDTO(String.valueOf((char) ('A' + i)),
+                    List.of(DAYS.get(i), DAYS.get((i + 3) % DAYS.size()))));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeFoods() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(foods);
+    }
+
+    @Benchmark
+    public byte[] serializeExercises() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(exercises);
+    }
+
+    @Benchmark
+    public byte[] serializeUserWorkouts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(workouts);
+    }
+}
@@ -0,0 +1,58 @@
+package com.rafalift.spring_project.dto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregação de macros em memória: resumo de um dia (GET /DietDay/{day}/summary) e dos sete
+ * dias de GET /week, com e sem metas cadastradas. A soma dos alimentos fica no banco
+ * (diet_day_totals), então o que sobra em Java é a conversão para os DTOs de resumo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MacroSummaryBenchmark {
+
+    @Param({"true", "false"})
+    private boolean withGoals;
+
+    private DietDayTotalsRow day;
+    private List<WeekDietRow> week;
+
+    @Setup
+    public void setup() {
+        Integer carboidratosGcd = withGoals ? 250 : null;
+        Integer proteinasGcd = withGoals ? 160 : null;
+        Integer fibrasGcd = withGoals ? 30 : null;
+        Integer gordurasGcd = withGoals ? 70 : null;
+        Integer gcd = withGoals ? 2400 : null;
+
+        day = new DietDayTotalsRow(231L, 148L, 27L, 64L, 2210L,
+                carboidratosGcd, proteinasGcd, fibrasGcd, gordurasGcd, gcd);
+        week = new ArrayList<>(7);
+        for (int i = 1; i <= 7; i++) {
+            week.add(new WeekDietRow(i, "dia " + i, 200L + i, 140L + i, 25L + i, 60L + i, 2100L + i * 10,
+                    carboidratosGcd, proteinasGcd, fibrasGcd, gordurasGcd, gcd));
+        }
+    }
+
+    @Benchmark
+    public DietDaySummaryDTO daySummary() {
+        return DietDaySummaryDTO.of(day);
+    }
+
+    @Benchmark
+    public List<DietDaySummaryDTO> weekSummaries() {
+        List<DietDaySummaryDTO> summaries = new ArrayList<>(week.size());
+        for (WeekDietRow row : week) {
+            summaries.add(DietDaySummaryDTO.of(row.totals()));
+        }
+        return summaries;
+    }
+}
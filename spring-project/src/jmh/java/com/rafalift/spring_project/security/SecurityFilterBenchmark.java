@@ -0,0 +1,71 @@
+package com.rafalift.spring_project.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de autenticação de cada requisição: extração do token (header ou cookie),
+ * extração + verificação, e a passagem completa pelo filtro com um token que tem "uid"
+ * (principal montado só pelos claims, sem banco).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    private TokenService tokenService;
+    private SecurityFilter securityFilter;
+    private String accessToken;
+    private MockHttpServletRequest headerRequest;
+    private MockHttpServletRequest cookieRequest;
+
+    @Setup
+    public void setup() {
+        tokenService = TokenServiceBenchmark.newTokenService();
+        securityFilter = new SecurityFilter(tokenService, null, null, null, false);
+        accessToken = tokenService.generateAccessToken(TokenServiceBenchmark.benchmarkUser());
+
+        headerRequest = new MockHttpServletRequest("GET", "/DietDay/segunda");
+        headerRequest.addHeader("Authorization", "Bearer " + accessToken);
+        cookieRequest = new MockHttpServletRequest("GET", "/DietDay/segunda");
+        cookieRequest.setCookies(new Cookie("theme", "dark"), new Cookie("jwt", accessToken));
+    }
+
+    @Benchmark
+    public String recoverFromHeader() {
+        return securityFilter.recoverToken(headerRequest);
+    }
+
+    @Benchmark
+    public String recoverFromCookie() {
+        return securityFilter.recoverToken(cookieRequest);
+    }
+
+    @Benchmark
+    public DecodedJWT recoverAndDecode() {
+        return tokenService.decodeToken(securityFilter.recoverToken(headerRequest));
+    }
+
+    // Requisição nova por chamada: o OncePerRequestFilter marca a requisição já filtrada
+    @Benchmark
+    public Object filterRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/DietDay/segunda");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        securityFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
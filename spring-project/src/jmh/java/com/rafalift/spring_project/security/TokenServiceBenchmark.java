@@ -0,0 +1,96 @@
+package com.rafalift.spring_project.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.rafalift.spring_project.model.UserRole;
+import com.rafalift.spring_project.model.Users;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a verificação antiga (Algorithm + JWTVerifier criados a cada chamada)
+ * com a atual (verifier único escolhido pelo kid), usando um access token real,
+ * e mede a assinatura de um access token. claimPayloadChars acrescenta uma claim extra
+ * desse tamanho às claims do access token, para ver o custo crescer com o tamanho do token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-0123456789-abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"0", "256", "2048"})
+    private int claimPayloadChars;
+
+    private TokenService tokenService;
+    private Algorithm algorithm;
+    private Users user;
+    private String payload;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        tokenService = newTokenService();
+        algorithm = Algorithm.HMAC256(SECRET);
+        user = benchmarkUser();
+        payload = "x".repeat(claimPayloadChars);
+        accessToken = signAccessToken();
+    }
+
+    // Também usados pelo SecurityFilterBenchmark
+    static TokenService newTokenService() {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "keyId", "default");
+        ReflectionTestUtils.setField(tokenService, "previousKeys", "");
+        ReflectionTestUtils.setField(tokenService, "timeExpToken", 1);
+        ReflectionTestUtils.setField(tokenService, "timeExpRefreshToken", 2);
+        tokenService.init();
+        return tokenService;
+    }
+
+    static Users benchmarkUser() {
+        Users user = new Users("Benchmark User", "benchmark.user@rafalift.com", "unused", UserRole.USER);
+        user.setId(123456);
+        return user;
+    }
+
+    @Benchmark
+    public DecodedJWT verifyWithPerCallVerifier() {
+        return JWT.require(Algorithm.HMAC256(SECRET))
+                .withIssuer("auth-api")
+                .build()
+                .verify(accessToken);
+    }
+
+    @Benchmark
+    public DecodedJWT verifyWithSharedVerifier() {
+        return tokenService.decodeToken(accessToken);
+    }
+
+    @Benchmark
+    public String signAccessToken() {
+        if (claimPayloadChars == 0) {
+            return tokenService.generateAccessToken(user);
+        }
+        // Mesmas claims, kid e chave do TokenService.generateAccessToken, mais a claim extra
+        return JWT.create()
+                .withIssuer("auth-api")
+                .withSubject(user.getEmail())
+                .withClaim("uid", user.getId())
+                .withClaim("role", user.getRole().name())
+                .withClaim("type", "access")
+                .withClaim("payload", payload)
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .withKeyId("default")
+                .sign(algorithm);
+    }
+}
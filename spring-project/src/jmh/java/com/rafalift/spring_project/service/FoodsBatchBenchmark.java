@@ -0,0 +1,125 @@
+package com.rafalift.spring_project.service;
+
+import com.rafalift.spring_project.SpringProjectApplication;
+import com.rafalift.spring_project.dto.FoodDTO;
+import com.rafalift.spring_project.model.Foods;
+import com.rafalift.spring_project.model.UserRole;
+import com.rafalift.spring_project.model.Users;
+import com.rafalift.spring_project.repository.DietDayTotalsRepository;
+import com.rafalift.spring_project.repository.UsersRepository;
+import com.rafalift.spring_project.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma refeição de 50 itens: 50 chamadas a addFoodForDay contra uma chamada a addFoodsForDay.
+ * Sobe a aplicação (sem servidor web) contra o Postgres configurado em spring.datasource.*,
+ * então precisa de um banco local com as migrações aplicadas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FoodsBatchBenchmark {
+
+    private static final int MEAL_SIZE = 50;
+    private static final String DAY = "segunda";
+    private static final String EMAIL = "foods-batch-benchmark@rafalift.com";
+
+    private ConfigurableApplicationContext context;
+    private FoodsService foodsService;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private DietDayTotalsRepository dietDayTotalsRepository;
+    private UserPrincipal principal;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SpringProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        foodsService = context.getBean(FoodsService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        dietDayTotalsRepository = context.getBean(DietDayTotalsRepository.class);
+
+        UsersRepository usersRepository = context.getBean(UsersRepository.class);
+        Users user = (Users) usersRepository.findByEmail(EMAIL);
+        if (user == null) {
+            user = usersRepository.save(new Users("Benchmark", EMAIL, "unused", UserRole.USER));
+        }
+        principal = UserPrincipal.from(user);
+    }
+
+    // Remove os alimentos em massa e recalcula diet_day_totals das dietas do usuário na mesma transação,
+    // com as linhas travadas como na reconciliação, para não deixar totais (nem ETags) apontando para foods apagados
+    @TearDown(Level.Iteration)
+    public void deleteFoods() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Integer> dietIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM user_diets WHERE user_id = ?", Integer.class, principal.id());
+            dietDayTotalsRepository.lockByDietIds(dietIds);
+            jdbcTemplate.update("DELETE FROM foods WHERE diet_id IN (SELECT id FROM user_diets WHERE user_id = ?)",
+                    principal.id());
+            dietDayTotalsRepository.reconcile(dietIds);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FoodDTO> fiftySingleInserts() {
+        authenticate();
+        List<FoodDTO> created = new ArrayList<>(MEAL_SIZE);
+        for (Foods food : meal()) {
+            created.add(foodsService.addFoodForDay(DAY, food));
+        }
+        return created;
+    }
+
+    @Benchmark
+    public List<FoodDTO> oneBatchOfFifty() {
+        authenticate();
+        return foodsService.addFoodsForDay(DAY, meal());
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static List<Foods> meal() {
+        List<Foods> foods = new ArrayList<>(MEAL_SIZE);
+        for (int i = 0; i < MEAL_SIZE; i++) {
+            Foods food = new Foods();
+            food.setTipo_alimento("lunch");
+            food.setAlimento("alimento " + i);
+            food.setPeso(100);
+            food.setCarboidratos(20);
+            food.setProteinas(10);
+            food.setFibras(3);
+            food.setGorduras(5);
+            food.setCalorias(165);
+            food.setAnotacao("");
+            food.setHorario(LocalTime.NOON);
+            foods.add(food);
+        }
+        return foods;
+    }
+}
@@ -2,8 +2,10 @@ package com.rafalift.spring_project;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SpringProjectApplication {
 
 	public static void main(String[] args) {
@@ -7,6 +7,8 @@ import com.rafalift.spring_project.dto.RegisterDTO;
 import com.rafalift.spring_project.model.UserRole;
 import com.rafalift.spring_project.model.Users;
 import com.rafalift.spring_project.repository.UsersRepository;
+import com.rafalift.spring_project.security.LoginRateLimiter;
+import com.rafalift.spring_project.security.PasswordHashing;
 import com.rafalift.spring_project.security.TokenService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -18,7 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -36,10 +38,26 @@ public class AuthenticationController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordHashing passwordHashing;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody @Validated AuthenticationDTO data) {
+    public ResponseEntity<?> login(@RequestBody @Validated AuthenticationDTO data, HttpServletRequest request) {
+        if (!loginRateLimiter.tryAcquire(data.login(), request.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginRateLimiter.retryAfterSeconds()))
+                    .body("Muitas tentativas de login, tente novamente em instantes");
+        }
+
         var authToken = new UsernamePasswordAuthenticationToken(data.login(), data.password());
-        var auth = authenticationManager.authenticate(authToken);
+        // Busca do usuário + BCrypt no pool de hashing, fora da thread da requisição
+        var auth = passwordHashing.run(() -> authenticationManager.authenticate(authToken));
         var user = (Users) auth.getPrincipal();
 
         String accessToken  = tokenService.generateAccessToken(user);
@@ -56,7 +74,7 @@ public class AuthenticationController {
         if (repository.findByEmail(data.email()) != null)
             return ResponseEntity.badRequest().build();
 
-        String encrypted = new BCryptPasswordEncoder().encode(data.senha());
+        String encrypted = passwordHashing.run(() -> passwordEncoder.encode(data.senha()));
         Users newUser = new Users(data.nome(), data.email(), encrypted, UserRole.USER);
         repository.save(newUser);
         return ResponseEntity.ok().build();
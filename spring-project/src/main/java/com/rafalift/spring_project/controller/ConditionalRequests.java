@@ -0,0 +1,44 @@
+package com.rafalift.spring_project.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * GETs condicionais a partir de um ETag forte barato (carimbo de versão lido antes dos dados).
+ * Se o If-None-Match bate, responde 304 sem carregar nem serializar nada.
+ * Conta os resultados em http.conditional.requests{resource, result}; a taxa de 304 é
+ * result=not_modified sobre o total do recurso.
+ */
+@Component
+public class ConditionalRequests {
+
+    // "no-cache" (e não o "no-store" padrão do Spring Security) para o navegador guardar e revalidar
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final MeterRegistry meterRegistry;
+
+    public ConditionalRequests(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // A versão é lida antes do corpo: se houver escrita no meio, o ETag fica mais antigo que o corpo
+    // e a próxima requisição recebe 200, nunca um 304 com dados velhos
+    public <T> ResponseEntity<T> get(WebRequest request, String resource, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            count(resource, "not_modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        count(resource, "modified");
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
+
+    private void count(String resource, String result) {
+        meterRegistry.counter("http.conditional.requests", "resource", resource, "result", result).increment();
+    }
+}
@@ -1,10 +1,13 @@
 package com.rafalift.spring_project.controller;
 
+import com.rafalift.spring_project.dto.ExerciseDTO;
+import com.rafalift.spring_project.dto.ExercisesBatchRequest;
 import com.rafalift.spring_project.model.Exercises;
 import com.rafalift.spring_project.service.ExercisesService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,24 +18,34 @@ public class ExercisesController {
     @Autowired
     private ExercisesService exercisesService;
 
+    @Autowired
+    private ConditionalRequests conditionalRequests;
+
     @GetMapping("/{workout}")
-    public ResponseEntity<List<Exercises>> getExercisesByWorkout(@PathVariable String workout) {
-        List<Exercises> exercises = exercisesService.getAllExercisesForLoggedUser(workout);
-        return ResponseEntity.ok(exercises);
+    public ResponseEntity<List<ExerciseDTO>> getExercisesByWorkout(@PathVariable String workout, WebRequest request) {
+        return conditionalRequests.get(request, "workout-set", exercisesService.getWorkoutETag(workout),
+                () -> exercisesService.getAllExercisesForLoggedUser(workout));
     }
 
     @PostMapping("/{workout}")
-    public ResponseEntity<Exercises> addExercise(@PathVariable String workout, @RequestBody Exercises exercise) {
-        Exercises createdExercise = exercisesService.addExerciseForWorkout(workout, exercise);
+    public ResponseEntity<ExerciseDTO> addExercise(@PathVariable String workout, @RequestBody Exercises exercise) {
+        ExerciseDTO createdExercise = exercisesService.addExerciseForWorkout(workout, exercise);
         return ResponseEntity.ok(createdExercise);
     }
 
+    @PostMapping("/{workout}/batch")
+    public ResponseEntity<List<ExerciseDTO>> applyExercisesBatch(@PathVariable String workout,
+                                                               @RequestBody ExercisesBatchRequest request) {
+        List<ExerciseDTO> exercises = exercisesService.applyExercisesBatch(workout, request);
+        return ResponseEntity.ok(exercises);
+    }
+
     @PutMapping("/{workout}/{exerciseId}")
-    public ResponseEntity<Exercises> updateExercise(
+    public ResponseEntity<ExerciseDTO> updateExercise(
             @PathVariable String workout,
             @PathVariable Integer exerciseId,
             @RequestBody Exercises updatedExercise) {
-        Exercises updated = exercisesService.updateExercise(workout, exerciseId, updatedExercise);
+        ExerciseDTO updated = exercisesService.updateExercise(workout, exerciseId, updatedExercise);
         return ResponseEntity.ok(updated);
     }
 
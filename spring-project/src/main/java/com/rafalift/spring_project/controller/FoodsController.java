@@ -1,10 +1,13 @@
 package com.rafalift.spring_project.controller;
 
+import com.rafalift.spring_project.dto.DietDaySummaryDTO;
+import com.rafalift.spring_project.dto.FoodDTO;
 import com.rafalift.spring_project.model.Foods;
 import com.rafalift.spring_project.service.FoodsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,21 +18,36 @@ public class FoodsController {
     @Autowired
     private FoodsService foodsService;
 
+    @Autowired
+    private ConditionalRequests conditionalRequests;
+
     @GetMapping("/{day}")
-    public ResponseEntity<List<Foods>> getFoodsByDay(@PathVariable String day) {
-        List<Foods> foods = foodsService.getAllFoodsForLoggedUser(day);
-        return ResponseEntity.ok(foods);
+    public ResponseEntity<List<FoodDTO>> getFoodsByDay(@PathVariable String day, WebRequest request) {
+        return conditionalRequests.get(request, "diet-day", foodsService.getDayETag(day),
+                () -> foodsService.getAllFoodsForLoggedUser(day));
+    }
+
+    @GetMapping("/{day}/summary")
+    public ResponseEntity<DietDaySummaryDTO> getDaySummary(@PathVariable String day, WebRequest request) {
+        return conditionalRequests.get(request, "diet-day-summary", foodsService.getDaySummaryETag(day),
+                () -> foodsService.getDaySummary(day));
     }
 
     @PostMapping("/{day}")
-    public ResponseEntity<Foods> addFood(@PathVariable String day, @RequestBody Foods food) {
-        Foods createdFood = foodsService.addFoodForDay(day, food);
+    public ResponseEntity<FoodDTO> addFood(@PathVariable String day, @RequestBody Foods food) {
+        FoodDTO createdFood = foodsService.addFoodForDay(day, food);
         return ResponseEntity.ok(createdFood); // HTTP 201 Created
     }
 
+    @PostMapping("/{day}/batch")
+    public ResponseEntity<List<FoodDTO>> addFoods(@PathVariable String day, @RequestBody List<Foods> foods) {
+        List<FoodDTO> createdFoods = foodsService.addFoodsForDay(day, foods);
+        return ResponseEntity.ok(createdFoods);
+    }
+
     @PutMapping("/{day}/{foodId}")
-    public ResponseEntity<Foods> updateFood(@PathVariable String day, @PathVariable Integer foodId, @RequestBody Foods food) {
-        Foods updatedFood = foodsService.updateFood(day, foodId, food);
+    public ResponseEntity<FoodDTO> updateFood(@PathVariable String day, @PathVariable Integer foodId, @RequestBody Foods food) {
+        FoodDTO updatedFood = foodsService.updateFood(day, foodId, food);
         return ResponseEntity.ok(updatedFood);
     }
 
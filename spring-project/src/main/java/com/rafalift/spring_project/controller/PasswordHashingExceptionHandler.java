@@ -0,0 +1,20 @@
+package com.rafalift.spring_project.controller;
+
+import com.rafalift.spring_project.security.PasswordHashingUnavailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Respondido aqui mesmo: se a exceção chegasse ao /error, o Spring Security devolveria 401/403
+@RestControllerAdvice
+public class PasswordHashingExceptionHandler {
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<String> handle(PasswordHashingUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Serviço ocupado, tente novamente");
+    }
+}
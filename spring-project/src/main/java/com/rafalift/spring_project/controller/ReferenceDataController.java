@@ -0,0 +1,22 @@
+package com.rafalift.spring_project.controller;
+
+import com.rafalift.spring_project.service.ReferenceDataRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/reference-data")
+public class ReferenceDataController {
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh() {
+        referenceDataRegistry.refresh();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,10 +1,12 @@
 package com.rafalift.spring_project.controller;
 
+import com.rafalift.spring_project.dto.UserGCDDTO;
 import com.rafalift.spring_project.model.UserGCD;
 import com.rafalift.spring_project.service.UserGCDService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("UserGcd")
@@ -12,21 +14,24 @@ public class UserGCDController {
     @Autowired
     private UserGCDService userGCDService;
 
+    @Autowired
+    private ConditionalRequests conditionalRequests;
+
     @GetMapping
-    public ResponseEntity<UserGCD> getUserGCD() {
-        UserGCD userGCD = userGCDService.getUserGCD();
-        return ResponseEntity.ok(userGCD);
+    public ResponseEntity<UserGCDDTO> getUserGCD(WebRequest request) {
+        return conditionalRequests.get(request, "user-gcd", userGCDService.getUserGCDETag(),
+                userGCDService::getUserGCD);
     }
 
     @PostMapping
-    public ResponseEntity<UserGCD> addUserGCD(@RequestBody UserGCD userGCD) {
-        UserGCD savedUserGCD = userGCDService.addUserGCD(userGCD);
+    public ResponseEntity<UserGCDDTO> addUserGCD(@RequestBody UserGCD userGCD) {
+        UserGCDDTO savedUserGCD = userGCDService.addUserGCD(userGCD);
         return ResponseEntity.ok(savedUserGCD);
     }
 
     @PutMapping
-    public ResponseEntity<UserGCD> updateUserGCD(@RequestBody UserGCD updateGCD) {
-        UserGCD updatedUserGCD = userGCDService.updateUserGCD(updateGCD);
+    public ResponseEntity<UserGCDDTO> updateUserGCD(@RequestBody UserGCD updateGCD) {
+        UserGCDDTO updatedUserGCD = userGCDService.updateUserGCD(updateGCD);
         return ResponseEntity.ok(updatedUserGCD);
     }
 
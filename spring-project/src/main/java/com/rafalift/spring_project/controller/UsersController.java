@@ -3,11 +3,15 @@ package com.rafalift.spring_project.controller;
 import com.rafalift.spring_project.dto.NameUpdateDTO;
 import com.rafalift.spring_project.dto.PasswordUpdateDTO;
 import com.rafalift.spring_project.model.Users;
+import com.rafalift.spring_project.security.PasswordHashing;
+import com.rafalift.spring_project.security.PrincipalCache;
+import com.rafalift.spring_project.security.RevokedUsers;
 import com.rafalift.spring_project.security.UsersUtils;
+import com.rafalift.spring_project.service.UserContextCache;
+import com.rafalift.spring_project.service.UserGCDCache;
 import com.rafalift.spring_project.service.UsersService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCrypt;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -15,10 +19,25 @@ import org.springframework.web.bind.annotation.*;
 public class UsersController {
     private final UsersService usersService;
     private final UsersUtils usersUtils;
+    private final PrincipalCache principalCache;
+    private final RevokedUsers revokedUsers;
+    private final UserContextCache userContextCache;
+    private final UserGCDCache userGCDCache;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashing passwordHashing;
 
-    public UsersController(UsersService usersService, UsersUtils usersUtils) {
+    public UsersController(UsersService usersService, UsersUtils usersUtils,
+                           PrincipalCache principalCache, RevokedUsers revokedUsers,
+                           UserContextCache userContextCache, UserGCDCache userGCDCache,
+                           PasswordEncoder passwordEncoder, PasswordHashing passwordHashing) {
         this.usersService = usersService;
         this.usersUtils = usersUtils;
+        this.principalCache = principalCache;
+        this.revokedUsers = revokedUsers;
+        this.userContextCache = userContextCache;
+        this.userGCDCache = userGCDCache;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
     }
 
     @GetMapping
@@ -31,7 +50,9 @@ public class UsersController {
         Integer userId = usersUtils.getCurrentUserId();
         Users user = usersService.findById(userId);
         user.setNome(nameUpdate.newName());
-        return ResponseEntity.ok(usersService.updateById(userId, user));
+        Users updated = usersService.updateById(userId, user);
+        principalCache.evict(user.getEmail());
+        return ResponseEntity.ok(updated);
     }
 
     @PutMapping("/password")
@@ -40,14 +61,15 @@ public class UsersController {
         Users user = usersService.findById(userId);
 
         // Verificar se a senha atual está correta
-        if (!BCrypt.checkpw(passwordUpdate.currentPassword(), user.getSenha())) {
+        if (!passwordHashing.run(() -> passwordEncoder.matches(passwordUpdate.currentPassword(), user.getSenha()))) {
             return ResponseEntity.badRequest().body("Senha atual incorreta");
         }
 
         // Atualizar a senha
-        String encryptedPassword = new BCryptPasswordEncoder().encode(passwordUpdate.newPassword());
-        user.setSenha(encryptedPassword);
-        return ResponseEntity.ok(usersService.updateById(userId, user));
+        String encryptedPassword = passwordHashing.run(() -> passwordEncoder.encode(passwordUpdate.newPassword()));
+        Users updated = usersService.updatePassword(userId, encryptedPassword);
+        principalCache.evict(user.getEmail());
+        return ResponseEntity.ok(updated);
     }
 
     @DeleteMapping
@@ -56,11 +78,15 @@ public class UsersController {
         Users user = usersService.findById(userId);
 
         // Verificar se a senha atual está correta
-        if (!BCrypt.checkpw(currentPassword, user.getSenha())) {
+        if (!passwordHashing.run(() -> passwordEncoder.matches(currentPassword, user.getSenha()))) {
             return ResponseEntity.badRequest().body("Senha incorreta");
         }
 
         usersService.deleteById(userId);
+        principalCache.evict(user.getEmail());
+        revokedUsers.revoke(userId);
+        userContextCache.evictUser(userId);
+        userGCDCache.evict(userId);
         return ResponseEntity.ok("Conta excluída com sucesso");
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.rafalift.spring_project.controller;
+
+import com.rafalift.spring_project.dto.WeekDayDTO;
+import com.rafalift.spring_project.service.WeekService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/week")
+public class WeekController {
+
+    @Autowired
+    private WeekService weekService;
+
+    @Autowired
+    private ConditionalRequests conditionalRequests;
+
+    @GetMapping
+    public ResponseEntity<List<WeekDayDTO>> getWeek(WebRequest request) {
+        return conditionalRequests.get(request, "week", weekService.getWeekETag(), weekService::getWeek);
+    }
+}
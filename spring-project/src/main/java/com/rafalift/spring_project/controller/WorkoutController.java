@@ -1,12 +1,13 @@
 package com.rafalift.spring_project.controller;
 
-import com.rafalift.spring_project.model.Exercises;
+import com.rafalift.spring_project.dto.DayExerciseDTO;
 import com.rafalift.spring_project.dto.UserWorkoutDTO;
 import com.rafalift.spring_project.dto.WorkoutDaysRequest;
 import com.rafalift.spring_project.service.WorkoutService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,10 +18,13 @@ public class WorkoutController {
     @Autowired
     private WorkoutService workoutService;
 
+    @Autowired
+    private ConditionalRequests conditionalRequests;
+
     @GetMapping
-    public ResponseEntity<List<UserWorkoutDTO>> getUserWorkouts() {
-        List<UserWorkoutDTO> workouts = workoutService.getUserWorkouts();
-        return ResponseEntity.ok(workouts);
+    public ResponseEntity<List<UserWorkoutDTO>> getUserWorkouts(WebRequest request) {
+        return conditionalRequests.get(request, "workouts", workoutService.getUserWorkoutsETag(),
+                workoutService::getUserWorkouts);
     }
 
     @PostMapping("/set-days")
@@ -30,7 +34,7 @@ public class WorkoutController {
     }
 
     @GetMapping("/{day}")
-    public ResponseEntity<List<Exercises>> getWorkoutByDay(@PathVariable String day) {
+    public ResponseEntity<List<DayExerciseDTO>> getWorkoutByDay(@PathVariable String day) {
         return ResponseEntity.ok(workoutService.getWorkoutByDay(day));
     }
 }
@@ -0,0 +1,18 @@
+package com.rafalift.spring_project.dto;
+
+// Exercício do treino do dia no formato antigo de GET /workouts/{day} (entidade Exercises serializada):
+// os mesmos campos, com workout.workoutCategory.nome levando o nome do treino. O usuário do treino fica de fora.
+public record DayExerciseDTO(Integer id, Workout workout, String grupo_muscular, String nome, Integer peso,
+                             Integer series, Integer repeticoes, Integer tempo, String anotacao) {
+
+    public record Workout(Integer id, WorkoutCategory workoutCategory) {}
+
+    public record WorkoutCategory(Integer id, String nome) {}
+
+    // Usado pela projeção JPQL, que só monta objetos planos
+    public DayExerciseDTO(Integer id, Integer workoutId, Integer categoryId, String setName, String grupo_muscular,
+                          String nome, Integer peso, Integer series, Integer repeticoes, Integer tempo, String anotacao) {
+        this(id, new Workout(workoutId, new WorkoutCategory(categoryId, setName)), grupo_muscular, nome, peso,
+                series, repeticoes, tempo, anotacao);
+    }
+}
@@ -0,0 +1,18 @@
+package com.rafalift.spring_project.dto;
+
+public record DietDaySummaryDTO(MacroSummaryDTO carboidratos,
+                                MacroSummaryDTO proteinas,
+                                MacroSummaryDTO fibras,
+                                MacroSummaryDTO gorduras,
+                                MacroSummaryDTO calorias) {
+
+    public static DietDaySummaryDTO of(DietDayTotalsRow row) {
+        return new DietDaySummaryDTO(
+                MacroSummaryDTO.of(row.carboidratos(), row.carboidratosGcd()),
+                MacroSummaryDTO.of(row.proteinas(), row.proteinasGcd()),
+                MacroSummaryDTO.of(row.fibras(), row.fibrasGcd()),
+                MacroSummaryDTO.of(row.gorduras(), row.gordurasGcd()),
+                MacroSummaryDTO.of(row.calorias(), row.gcd())
+        );
+    }
+}
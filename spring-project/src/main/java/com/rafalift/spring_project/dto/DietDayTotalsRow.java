@@ -0,0 +1,6 @@
+package com.rafalift.spring_project.dto;
+
+// Totais do dia somados no banco + metas do UserGCD (nulas quando o usuário não tem metas)
+public record DietDayTotalsRow(Long carboidratos, Long proteinas, Long fibras, Long gorduras, Long calorias,
+                               Integer carboidratosGcd, Integer proteinasGcd, Integer fibrasGcd,
+                               Integer gordurasGcd, Integer gcd) {}
@@ -0,0 +1,13 @@
+package com.rafalift.spring_project.dto;
+
+import com.rafalift.spring_project.model.Exercises;
+
+// Mesmos nomes de campo da entidade, sem o treino/usuário por trás do exercício
+public record ExerciseDTO(Integer id, String grupo_muscular, String nome, Integer peso,
+                          Integer series, Integer repeticoes, Integer tempo, String anotacao) {
+
+    public static ExerciseDTO from(Exercises exercise) {
+        return new ExerciseDTO(exercise.getId(), exercise.getGrupo_muscular(), exercise.getNome(), exercise.getPeso(),
+                exercise.getSeries(), exercise.getRepeticoes(), exercise.getTempo(), exercise.getAnotacao());
+    }
+}
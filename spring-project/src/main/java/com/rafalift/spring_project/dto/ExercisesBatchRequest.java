@@ -0,0 +1,8 @@
+package com.rafalift.spring_project.dto;
+
+import com.rafalift.spring_project.model.Exercises;
+
+import java.util.List;
+
+// upserts: sem id = novo exercício, com id = alteração; deletions: ids a remover
+public record ExercisesBatchRequest(List<Exercises> upserts, List<Integer> deletions) {}
@@ -0,0 +1,19 @@
+package com.rafalift.spring_project.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.rafalift.spring_project.model.Foods;
+
+import java.time.LocalTime;
+
+// Mesmos nomes de campo da entidade, sem a dieta/usuário por trás do alimento
+public record FoodDTO(Integer id, String tipo_alimento, String alimento, Integer peso,
+                      Integer carboidratos, Integer proteinas, Integer fibras, Integer gorduras, Integer calorias,
+                      String anotacao,
+                      @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm") LocalTime horario) {
+
+    public static FoodDTO from(Foods food) {
+        return new FoodDTO(food.getId(), food.getTipo_alimento(), food.getAlimento(), food.getPeso(),
+                food.getCarboidratos(), food.getProteinas(), food.getFibras(), food.getGorduras(), food.getCalorias(),
+                food.getAnotacao(), food.getHorario());
+    }
+}
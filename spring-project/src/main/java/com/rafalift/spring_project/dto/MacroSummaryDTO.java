@@ -0,0 +1,12 @@
+package com.rafalift.spring_project.dto;
+
+// restante e percentual ficam nulos quando não há meta definida
+public record MacroSummaryDTO(long total, Integer meta, Long restante, Integer percentual) {
+
+    public static MacroSummaryDTO of(long total, Integer meta) {
+        if (meta == null || meta <= 0) {
+            return new MacroSummaryDTO(total, meta, null, null);
+        }
+        return new MacroSummaryDTO(total, meta, meta - total, (int) Math.round(total * 100.0 / meta));
+    }
+}
@@ -0,0 +1,17 @@
+package com.rafalift.spring_project.dto;
+
+import com.rafalift.spring_project.model.UserGCD;
+
+// Metas do usuário com os mesmos nomes de campo da entidade; imutável para poder ficar em cache
+public record UserGCDDTO(Integer id, Integer carboidratos_gcd, Integer proteinas_gcd, Integer fibras_gcd,
+                         Integer gorduras_gcd, Integer gcd, Long version) {
+
+    public static UserGCDDTO from(UserGCD userGCD) {
+        return new UserGCDDTO(userGCD.getId(), userGCD.getCarboidratos_gcd(), userGCD.getProteinas_gcd(),
+                userGCD.getFibras_gcd(), userGCD.getGorduras_gcd(), userGCD.getGcd(), userGCD.getVersion());
+    }
+
+    public VersionStamp versionStamp() {
+        return new VersionStamp(id, version);
+    }
+}
@@ -0,0 +1,9 @@
+package com.rafalift.spring_project.dto;
+
+// id + versão de um recurso; o id entra no ETag para que recriar o recurso (versão zerada) não gere 304 indevido
+public record VersionStamp(Integer id, Long version) {
+
+    public String tag() {
+        return id + "." + version;
+    }
+}
@@ -0,0 +1,5 @@
+package com.rafalift.spring_project.dto;
+
+import java.util.List;
+
+public record WeekDayDTO(String day, List<WeekWorkoutDTO> workouts, DietDaySummaryDTO diet) {}
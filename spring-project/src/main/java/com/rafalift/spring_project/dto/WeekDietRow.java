@@ -0,0 +1,13 @@
+package com.rafalift.spring_project.dto;
+
+// Uma linha por dia da semana: totais materializados da dieta + metas do UserGCD
+public record WeekDietRow(Integer dayId, String dayName,
+                          Long carboidratos, Long proteinas, Long fibras, Long gorduras, Long calorias,
+                          Integer carboidratosGcd, Integer proteinasGcd, Integer fibrasGcd,
+                          Integer gordurasGcd, Integer gcd) {
+
+    public DietDayTotalsRow totals() {
+        return new DietDayTotalsRow(carboidratos, proteinas, fibras, gorduras, calorias,
+                carboidratosGcd, proteinasGcd, fibrasGcd, gordurasGcd, gcd);
+    }
+}
@@ -0,0 +1,3 @@
+package com.rafalift.spring_project.dto;
+
+public record WeekWorkoutDTO(Integer workoutId, String setName, long exerciseCount) {}
@@ -0,0 +1,3 @@
+package com.rafalift.spring_project.dto;
+
+public record WeekWorkoutRow(Integer dayId, Integer workoutId, String setName, Long exerciseCount) {}
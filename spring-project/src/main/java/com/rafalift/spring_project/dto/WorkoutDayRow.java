@@ -0,0 +1,3 @@
+package com.rafalift.spring_project.dto;
+
+public record WorkoutDayRow(Integer workoutId, String setName, String dayName) {}
@@ -0,0 +1,65 @@
+package com.rafalift.spring_project.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Log amostrado dos comandos SQL lentos, medido no DataSource (substitui o show-sql e o log_slow_query do Hibernate).
+ * Todo comando acima do limite conta em jdbc.slow_queries; só uma fração deles (sample-rate) vai para o log,
+ * com o SQL sem os parâmetros. Comandos rápidos não geram I/O nenhum.
+ */
+public class SlowQueryLog implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private volatile Counter slowQueries;
+
+    // O MeterRegistry é resolvido no primeiro comando lento: o proxy do DataSource nasce antes dele
+    public SlowQueryLog(ObjectProvider<MeterRegistry> meterRegistry, Duration threshold, double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        slowQueries().increment();
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            log.info("Comando lento: {} ms, batch de {}, sucesso={}: {}",
+                    execInfo.getElapsedTime(), Math.max(execInfo.getBatchSize(), 1), execInfo.isSuccess(), sql);
+        }
+    }
+
+    private Counter slowQueries() {
+        Counter counter = slowQueries;
+        if (counter == null) {
+            counter = Counter.builder("jdbc.slow_queries")
+                    .description("Comandos SQL acima do limite do log de comandos lentos")
+                    .register(meterRegistry.getObject());
+            slowQueries = counter;
+        }
+        return counter;
+    }
+}
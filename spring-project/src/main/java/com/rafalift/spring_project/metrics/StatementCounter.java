@@ -0,0 +1,64 @@
+package com.rafalift.spring_project.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta os comandos SQL que passam pelo DataSource (JPA, consultas nativas e JdbcTemplate)
+ * em nome da requisição atual; um batch JDBC conta uma vez. Buscas de sequência (nextval) ficam
+ * de fora: dependem do bloco de ids já reservado, não da requisição. O StatementsPerRequestFilter abre
+ * a contagem no início da requisição e lê no fim. Trabalho repassado a outras threads
+ * (ex.: pool de hashing do login) entra na conta via StatementCountingTaskDecorator; o resto (jobs agendados) fica de fora.
+ */
+public class StatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        AtomicInteger count = CURRENT.get();
+        if (count != null && !isSequenceFetch(queryInfoList)) {
+            count.incrementAndGet();
+        }
+    }
+
+    private static boolean isSequenceFetch(List<QueryInfo> queryInfoList) {
+        return !queryInfoList.isEmpty() && queryInfoList.get(0).getQuery().contains("nextval(");
+    }
+
+    /**
+     * Faz a tarefa contar na requisição da thread que a criou, seja qual for a thread que a executa.
+     */
+    static Runnable propagate(Runnable task) {
+        AtomicInteger count = CURRENT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            CURRENT.set(count);
+            try {
+                task.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    static AtomicInteger start() {
+        AtomicInteger count = new AtomicInteger();
+        CURRENT.set(count);
+        return count;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,14 @@
+package com.rafalift.spring_project.metrics;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+// Tarefas repassadas a outro executor contam na requisição que as submeteu (ver StatementCounter)
+@Component
+public class StatementCountingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return StatementCounter.propagate(runnable);
+    }
+}
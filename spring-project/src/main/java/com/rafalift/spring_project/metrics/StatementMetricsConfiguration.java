@@ -0,0 +1,45 @@
+package com.rafalift.spring_project.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class StatementMetricsConfiguration {
+
+    // Envolve o DataSource (Hikari) num proxy que conta cada execução e registra as lentas;
+    // unwrap continua chegando no pool
+    @Bean
+    public static BeanPostProcessor statementCountingDataSource(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${slow-query-log.threshold}") Duration slowQueryThreshold,
+            @Value("${slow-query-log.sample-rate}") double slowQuerySampleRate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new StatementCounter())
+                        .listener(new SlowQueryLog(meterRegistry, slowQueryThreshold, slowQuerySampleRate))
+                        .build();
+            }
+        };
+    }
+
+    // Timer service.invocations (tags class, method, exception) para as classes anotadas com @Timed
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
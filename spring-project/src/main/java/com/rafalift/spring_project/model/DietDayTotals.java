@@ -0,0 +1,66 @@
+package com.rafalift.spring_project.model;
+
+import jakarta.persistence.*;
+
+// Totais de macros de uma dieta do dia, mantidos por deltas (ver DietDayTotalsRepository)
+@Entity
+@Table(name = "diet_day_totals")
+public class DietDayTotals {
+    @Id
+    @Column(name = "diet_id")
+    private Integer dietId;
+
+    private Long carboidratos;
+    private Long proteinas;
+    private Long fibras;
+    private Long gorduras;
+    private Long calorias;
+
+    public Integer getDietId() {
+        return dietId;
+    }
+
+    public void setDietId(Integer dietId) {
+        this.dietId = dietId;
+    }
+
+    public Long getCarboidratos() {
+        return carboidratos;
+    }
+
+    public void setCarboidratos(Long carboidratos) {
+        this.carboidratos = carboidratos;
+    }
+
+    public Long getProteinas() {
+        return proteinas;
+    }
+
+    public void setProteinas(Long proteinas) {
+        this.proteinas = proteinas;
+    }
+
+    public Long getFibras() {
+        return fibras;
+    }
+
+    public void setFibras(Long fibras) {
+        this.fibras = fibras;
+    }
+
+    public Long getGorduras() {
+        return gorduras;
+    }
+
+    public void setGorduras(Long gorduras) {
+        this.gorduras = gorduras;
+    }
+
+    public Long getCalorias() {
+        return calorias;
+    }
+
+    public void setCalorias(Long calorias) {
+        this.calorias = calorias;
+    }
+}
@@ -5,8 +5,10 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "exercises")
 public class Exercises {
+    // Sequência com blocos de 50 ids: permite inserts em batch (IDENTITY desliga o batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercises_id_seq")
+    @SequenceGenerator(name = "exercises_id_seq", sequenceName = "exercises_id_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
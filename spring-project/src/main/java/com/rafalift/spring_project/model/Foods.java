@@ -8,8 +8,10 @@ import java.time.LocalTime;
 @Entity
 @Table(name = "foods")
 public class Foods {
+    // Sequência com blocos de 50 ids: permite inserts em batch (IDENTITY desliga o batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "foods_id_seq")
+    @SequenceGenerator(name = "foods_id_seq", sequenceName = "foods_id_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -18,6 +18,10 @@ public class UserDiets {
     @JoinColumn(name = "day_id")
     private DaysCategories day;
 
+    // Incrementada a cada escrita nos filhos; base do ETag das leituras
+    @Column(nullable = false)
+    private Long version = 0L;
+
     public Integer getId() {
         return id;
     }
@@ -41,4 +45,12 @@ public class UserDiets {
     public void setDay(DaysCategories day) {
         this.day = day;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
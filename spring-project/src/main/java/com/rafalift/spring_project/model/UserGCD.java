@@ -1,5 +1,6 @@
 package com.rafalift.spring_project.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
@@ -9,6 +10,8 @@ public class UserGCD {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
+    // Proxy lazy fora da sessão (open-in-view desligado): não vai para o JSON
+    @JsonIgnore
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private Users user;
@@ -19,6 +22,9 @@ public class UserGCD {
     private Integer gorduras_gcd;
     private Integer gcd;
 
+    @Version
+    private Long version;
+
     public Integer getId() {
         return id;
     }
@@ -74,4 +80,12 @@ public class UserGCD {
     public void setGcd(Integer gcd) {
         this.gcd = gcd;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -17,6 +17,10 @@ public class UserWorkouts {
     @JoinColumn(name = "workout_id")
     private WorkoutCategories workoutCategory;
 
+    // Incrementada a cada escrita nos filhos; base do ETag das leituras
+    @Column(nullable = false)
+    private Long version = 0L;
+
     public Integer getId() {
         return id;
     }
@@ -40,4 +44,12 @@ public class UserWorkouts {
     public void setWorkoutCategory(WorkoutCategories workoutCategory) {
         this.workoutCategory = workoutCategory;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -1,6 +1,8 @@
 package com.rafalift.spring_project.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -59,8 +61,13 @@ public class Users implements UserDetails {
     private String nome;
     private String email;
     private String senha;
+    // Colunas TIMESTAMP (V1/V8); o tipo Java segue java.sql.Date para não mudar o JSON de GET /account
+    @Column(columnDefinition = "timestamp")
     private Date data_reg;
+    @Column(columnDefinition = "timestamp")
     private Date data_att;
+    // role é SMALLINT na migração; o ordinal do enum é mapeado como TINYINT por padrão
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     private UserRole role;
 
     public Users(String nome, String email, String senha, UserRole role) {
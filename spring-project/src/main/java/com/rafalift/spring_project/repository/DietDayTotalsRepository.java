@@ -0,0 +1,79 @@
+package com.rafalift.spring_project.repository;
+
+import com.rafalift.spring_project.model.DietDayTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface DietDayTotalsRepository extends JpaRepository<DietDayTotals, Integer> {
+
+    // Soma (ou subtrai, com valores negativos) um delta; o UPDATE é atômico na linha da dieta
+    @Modifying
+    @Query(value = """
+            INSERT INTO diet_day_totals AS t (diet_id, carboidratos, proteinas, fibras, gorduras, calorias)
+            VALUES (:dietId, :carboidratos, :proteinas, :fibras, :gorduras, :calorias)
+            ON CONFLICT (diet_id) DO UPDATE SET
+                carboidratos = t.carboidratos + EXCLUDED.carboidratos,
+                proteinas = t.proteinas + EXCLUDED.proteinas,
+                fibras = t.fibras + EXCLUDED.fibras,
+                gorduras = t.gorduras + EXCLUDED.gorduras,
+                calorias = t.calorias + EXCLUDED.calorias
+            """, nativeQuery = true)
+    void addDelta(@Param("dietId") Integer dietId,
+                  @Param("carboidratos") long carboidratos,
+                  @Param("proteinas") long proteinas,
+                  @Param("fibras") long fibras,
+                  @Param("gorduras") long gorduras,
+                  @Param("calorias") long calorias);
+
+    // Retira dos totais os valores atuais do alimento; deve rodar antes do update/delete em foods
+    @Modifying
+    @Query(value = """
+            UPDATE diet_day_totals t SET
+                carboidratos = t.carboidratos - COALESCE(f.carboidratos, 0),
+                proteinas = t.proteinas - COALESCE(f.proteinas, 0),
+                fibras = t.fibras - COALESCE(f.fibras, 0),
+                gorduras = t.gorduras - COALESCE(f.gorduras, 0),
+                calorias = t.calorias - COALESCE(f.calorias, 0)
+            FROM foods f
+            WHERE f.id = :foodId AND f.diet_id = :dietId AND t.diet_id = f.diet_id
+            """, nativeQuery = true)
+    int subtractFood(@Param("foodId") Integer foodId, @Param("dietId") Integer dietId);
+
+    // Trava as linhas do lote para que nenhum delta concorrente se perca durante o recálculo
+    @Query(value = "SELECT diet_id FROM diet_day_totals WHERE diet_id IN (:dietIds) ORDER BY diet_id FOR UPDATE",
+            nativeQuery = true)
+    List<Integer> lockByDietIds(@Param("dietIds") Collection<Integer> dietIds);
+
+    // Recalcula a partir de foods e só grava as linhas divergentes, incrementando a versão
+    // das dietas corrigidas (invalida os ETags); retorna quantas foram corrigidas
+    @Modifying
+    @Query(value = """
+            WITH fixed AS (
+            INSERT INTO diet_day_totals AS t (diet_id, carboidratos, proteinas, fibras, gorduras, calorias)
+            SELECT d.id,
+                   COALESCE(SUM(f.carboidratos), 0), COALESCE(SUM(f.proteinas), 0), COALESCE(SUM(f.fibras), 0),
+                   COALESCE(SUM(f.gorduras), 0), COALESCE(SUM(f.calorias), 0)
+            FROM user_diets d
+            LEFT JOIN foods f ON f.diet_id = d.id
+            WHERE d.id IN (:dietIds)
+            GROUP BY d.id
+            ON CONFLICT (diet_id) DO UPDATE SET
+                carboidratos = EXCLUDED.carboidratos,
+                proteinas = EXCLUDED.proteinas,
+                fibras = EXCLUDED.fibras,
+                gorduras = EXCLUDED.gorduras,
+                calorias = EXCLUDED.calorias
+            WHERE (t.carboidratos, t.proteinas, t.fibras, t.gorduras, t.calorias)
+                IS DISTINCT FROM (EXCLUDED.carboidratos, EXCLUDED.proteinas, EXCLUDED.fibras,
+                                  EXCLUDED.gorduras, EXCLUDED.calorias)
+            RETURNING t.diet_id
+            )
+            UPDATE user_diets SET version = version + 1 WHERE id IN (SELECT diet_id FROM fixed)
+            """, nativeQuery = true)
+    int reconcile(@Param("dietIds") Collection<Integer> dietIds);
+}
@@ -1,13 +1,71 @@
 package com.rafalift.spring_project.repository;
 
+import com.rafalift.spring_project.dto.DayExerciseDTO;
+import com.rafalift.spring_project.dto.ExerciseDTO;
 import com.rafalift.spring_project.model.Exercises;
 import com.rafalift.spring_project.model.UserWorkouts;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ExercisesRepository extends JpaRepository<Exercises, Integer> {
     List<Exercises> findByWorkoutId(Integer userWorkout);
+
+    // Projeção direta no DTO: nenhuma entidade (nem proxy de treino/usuário) chega à serialização
+    @Query("""
+            select new com.rafalift.spring_project.dto.ExerciseDTO(
+                e.id, e.grupo_muscular, e.nome, e.peso, e.series, e.repeticoes, e.tempo, e.anotacao)
+            from Exercises e
+            where e.workout.id = :workoutId
+            order by e.id
+            """)
+    List<ExerciseDTO> findDTOsByWorkoutId(@Param("workoutId") Integer workoutId);
+
+    // A checagem de posse fica no WHERE: 0 linhas = exercício inexistente ou de outro treino
+    @Modifying
+    @Query("""
+            update Exercises e set
+                e.grupo_muscular = :#{#exercise.grupo_muscular},
+                e.nome = :#{#exercise.nome},
+                e.series = :#{#exercise.series},
+                e.repeticoes = :#{#exercise.repeticoes},
+                e.peso = :#{#exercise.peso},
+                e.tempo = :#{#exercise.tempo},
+                e.anotacao = :#{#exercise.anotacao}
+            where e.id = :id and e.workout.id = :workoutId
+            """)
+    int updateByIdAndWorkoutId(@Param("id") Integer id, @Param("workoutId") Integer workoutId,
+                               @Param("exercise") Exercises exercise);
+
+    @Modifying
+    @Query("delete from Exercises e where e.id = :id and e.workout.id = :workoutId")
+    int deleteByIdAndWorkoutId(@Param("id") Integer id, @Param("workoutId") Integer workoutId);
+
+    List<Exercises> findByWorkoutIdAndIdIn(Integer workoutId, Collection<Integer> ids);
+
+    @Modifying
+    @Query("delete from Exercises e where e.workout.id = :workoutId and e.id in :ids")
+    int deleteByWorkoutIdAndIdIn(@Param("workoutId") Integer workoutId, @Param("ids") Collection<Integer> ids);
+
+    // Exercícios do treino do usuário marcado para o dia (o de menor id, se houver mais de um),
+    // já com o treino e a categoria, em uma única ida ao banco
+    @Query("""
+            select new com.rafalift.spring_project.dto.DayExerciseDTO(
+                e.id, w.id, wc.id, wc.nome, e.grupo_muscular, e.nome, e.peso, e.series, e.repeticoes, e.tempo, e.anotacao)
+            from Exercises e
+            join e.workout w
+            join w.workoutCategory wc
+            where w.id = (
+                select min(wd.userWorkout.id) from WorkoutDays wd
+                where wd.userWorkout.user.id = :userId
+                and wd.id.dayId = :dayId)
+            order by e.id
+            """)
+    List<DayExerciseDTO> findDayExercisesByUserIdAndDayId(@Param("userId") Integer userId, @Param("dayId") Integer dayId);
 }
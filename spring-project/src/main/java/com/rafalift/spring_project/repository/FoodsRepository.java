@@ -1,10 +1,48 @@
 package com.rafalift.spring_project.repository;
 
+import com.rafalift.spring_project.dto.FoodDTO;
 import com.rafalift.spring_project.model.Foods;
 import com.rafalift.spring_project.model.UserDiets;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface FoodsRepository extends JpaRepository<Foods, Integer> {
     List<Foods> findByDiet(UserDiets diet);
-}
\ No newline at end of file
+
+    // Projeção direta no DTO: nenhuma entidade (nem proxy de dieta/usuário) chega à serialização
+    @Query("""
+            select new com.rafalift.spring_project.dto.FoodDTO(
+                f.id, f.tipo_alimento, f.alimento, f.peso, f.carboidratos, f.proteinas, f.fibras, f.gorduras,
+                f.calorias, f.anotacao, f.horario)
+            from Foods f
+            where f.diet.id = :dietId
+            order by f.id
+            """)
+    List<FoodDTO> findDTOsByDietId(@Param("dietId") Integer dietId);
+
+    // A checagem de posse fica no WHERE: 0 linhas = alimento inexistente ou de outra dieta
+    @Modifying
+    @Query("""
+            update Foods f set
+                f.tipo_alimento = :#{#food.tipo_alimento},
+                f.alimento = :#{#food.alimento},
+                f.peso = :#{#food.peso},
+                f.calorias = :#{#food.calorias},
+                f.carboidratos = :#{#food.carboidratos},
+                f.proteinas = :#{#food.proteinas},
+                f.fibras = :#{#food.fibras},
+                f.gorduras = :#{#food.gorduras},
+                f.anotacao = :#{#food.anotacao},
+                f.horario = :#{#food.horario}
+            where f.id = :id and f.diet.id = :dietId
+            """)
+    int updateByIdAndDietId(@Param("id") Integer id, @Param("dietId") Integer dietId, @Param("food") Foods food);
+
+    @Modifying
+    @Query("delete from Foods f where f.id = :id and f.diet.id = :dietId")
+    int deleteByIdAndDietId(@Param("id") Integer id, @Param("dietId") Integer dietId);
+}
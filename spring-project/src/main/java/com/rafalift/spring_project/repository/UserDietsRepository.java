@@ -1,11 +1,67 @@
 package com.rafalift.spring_project.repository;
 
+import com.rafalift.spring_project.dto.DietDayTotalsRow;
+import com.rafalift.spring_project.dto.VersionStamp;
+import com.rafalift.spring_project.dto.WeekDietRow;
 import com.rafalift.spring_project.model.UserDiets;
-import com.rafalift.spring_project.model.UserWorkouts;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserDietsRepository extends JpaRepository<UserDiets, Integer> {
     Optional<UserDiets> findByUserId(Integer userId);
     Optional<UserDiets> findByUserIdAndDay_Nome(Long userId, String nome);
-}
\ No newline at end of file
+    Optional<UserDiets> findByUserIdAndDayId(Integer userId, Integer dayId);
+
+    @Query("select ud.id from UserDiets ud where ud.user.id = :userId and ud.day.id = :dayId")
+    Optional<Integer> findIdByUserIdAndDayId(@Param("userId") Integer userId, @Param("dayId") Integer dayId);
+
+    // Totais materializados (PK) junto com as metas do usuário, em uma única consulta
+    @Query("""
+            select new com.rafalift.spring_project.dto.DietDayTotalsRow(
+                coalesce(t.carboidratos, 0L), coalesce(t.proteinas, 0L), coalesce(t.fibras, 0L),
+                coalesce(t.gorduras, 0L), coalesce(t.calorias, 0L),
+                g.carboidratos_gcd, g.proteinas_gcd, g.fibras_gcd, g.gorduras_gcd, g.gcd)
+            from UserDiets d
+            left join DietDayTotals t on t.dietId = d.id
+            left join UserGCD g on g.user = d.user
+            where d.id = :dietId
+            """)
+    DietDayTotalsRow findTotalsByDietId(@Param("dietId") Integer dietId);
+
+    // Semana inteira do usuário em uma consulta, ordenada pelo dia (segunda..domingo)
+    @Query("""
+            select new com.rafalift.spring_project.dto.WeekDietRow(
+                day.id, day.nome,
+                coalesce(t.carboidratos, 0L), coalesce(t.proteinas, 0L), coalesce(t.fibras, 0L),
+                coalesce(t.gorduras, 0L), coalesce(t.calorias, 0L),
+                g.carboidratos_gcd, g.proteinas_gcd, g.fibras_gcd, g.gorduras_gcd, g.gcd)
+            from UserDiets d
+            join d.day day
+            left join DietDayTotals t on t.dietId = d.id
+            left join UserGCD g on g.user = d.user
+            where d.user.id = :userId
+            order by day.id
+            """)
+    List<WeekDietRow> findWeekRowsByUserId(@Param("userId") Integer userId);
+
+    // Paginação por chave para percorrer todas as dietas em lotes
+    @Query("select d.id from UserDiets d where d.id > :afterId order by d.id")
+    List<Integer> findIdsAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Modifying
+    @Query("update UserDiets d set d.version = d.version + 1 where d.id = :id")
+    void incrementVersion(@Param("id") Integer id);
+
+    @Query("select new com.rafalift.spring_project.dto.VersionStamp(d.id, d.version) from UserDiets d where d.id = :id")
+    VersionStamp findVersionById(@Param("id") Integer id);
+
+    // Versões só crescem, então a soma muda a cada escrita em qualquer dia do usuário
+    @Query("select coalesce(sum(d.version), 0L) from UserDiets d where d.user.id = :userId")
+    Long sumVersionsByUserId(@Param("userId") Integer userId);
+}
@@ -1,7 +1,13 @@
 package com.rafalift.spring_project.repository;
 
+import com.rafalift.spring_project.dto.VersionStamp;
+import com.rafalift.spring_project.dto.WeekWorkoutRow;
+import com.rafalift.spring_project.dto.WorkoutDayRow;
 import com.rafalift.spring_project.model.UserWorkouts;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +18,44 @@ public interface UserWorkoutRepository extends JpaRepository<UserWorkouts, Long>
     List<UserWorkouts> findByUserId(Long userId);
 
     Optional<UserWorkouts> findByUserIdAndWorkoutCategoryNome(Long userId, String nome);
-}
\ No newline at end of file
+
+    @Query("select uw.id from UserWorkouts uw where uw.user.id = :userId and uw.workoutCategory.id = :workoutCategoryId")
+    Optional<Integer> findIdByUserIdAndWorkoutCategoryId(@Param("userId") Integer userId,
+                                                        @Param("workoutCategoryId") Integer workoutCategoryId);
+
+    // Uma linha por (treino, dia) em uma única consulta; treinos sem dias vêm com dayName nulo
+    @Query("""
+            select new com.rafalift.spring_project.dto.WorkoutDayRow(uw.id, wc.nome, d.nome)
+            from UserWorkouts uw
+            join uw.workoutCategory wc
+            left join WorkoutDays wd on wd.userWorkout = uw
+            left join wd.day d
+            where uw.user.id = :userId
+            order by uw.id, d.id
+            """)
+    List<WorkoutDayRow> findWorkoutDayRowsByUserId(@Param("userId") Integer userId);
+
+    // Treinos atribuídos a cada dia com a contagem de exercícios, agregada no banco
+    @Query("""
+            select new com.rafalift.spring_project.dto.WeekWorkoutRow(wd.id.dayId, uw.id, wc.nome, count(e.id))
+            from WorkoutDays wd
+            join wd.userWorkout uw
+            join uw.workoutCategory wc
+            left join Exercises e on e.workout = uw
+            where uw.user.id = :userId
+            group by wd.id.dayId, uw.id, wc.nome
+            order by wd.id.dayId, wc.nome
+            """)
+    List<WeekWorkoutRow> findWeekWorkoutRowsByUserId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("update UserWorkouts uw set uw.version = uw.version + 1 where uw.id = :id")
+    void incrementVersion(@Param("id") Integer id);
+
+    @Query("select new com.rafalift.spring_project.dto.VersionStamp(uw.id, uw.version) from UserWorkouts uw where uw.id = :id")
+    VersionStamp findVersionById(@Param("id") Integer id);
+
+    // Versões só crescem, então a soma muda a cada escrita em qualquer treino do usuário
+    @Query("select coalesce(sum(uw.version), 0L) from UserWorkouts uw where uw.user.id = :userId")
+    Long sumVersionsByUserId(@Param("userId") Integer userId);
+}
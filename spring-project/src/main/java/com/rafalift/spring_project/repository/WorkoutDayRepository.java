@@ -4,11 +4,23 @@ import com.rafalift.spring_project.model.UserWorkouts;
 import com.rafalift.spring_project.model.WorkoutDayId;
 import com.rafalift.spring_project.model.WorkoutDays;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface WorkoutDayRepository extends JpaRepository<WorkoutDays, WorkoutDayId> {
+public interface WorkoutDayRepository extends JpaRepository<WorkoutDays, WorkoutDayId>, WorkoutDayRepositoryCustom {
     List<WorkoutDays> findByUserWorkout(UserWorkouts userWorkout);
-}
\ No newline at end of file
+
+    @Query("select wd.id.dayId from WorkoutDays wd where wd.id.userWorkoutsId = :userWorkoutId")
+    List<Integer> findDayIdsByUserWorkoutId(@Param("userWorkoutId") Integer userWorkoutId);
+
+    @Modifying
+    @Query("delete from WorkoutDays wd where wd.id.userWorkoutsId = :userWorkoutId and wd.id.dayId in :dayIds")
+    int deleteByUserWorkoutIdAndDayIds(@Param("userWorkoutId") Integer userWorkoutId,
+                                       @Param("dayIds") Collection<Integer> dayIds);
+}
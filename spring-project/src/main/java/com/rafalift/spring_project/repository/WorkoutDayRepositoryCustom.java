@@ -0,0 +1,7 @@
+package com.rafalift.spring_project.repository;
+
+import java.util.Collection;
+
+public interface WorkoutDayRepositoryCustom {
+    void insertAll(Integer userWorkoutId, Collection<Integer> dayIds);
+}
@@ -0,0 +1,27 @@
+package com.rafalift.spring_project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+
+public class WorkoutDayRepositoryCustomImpl implements WorkoutDayRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WorkoutDayRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Insere todos os dias em um único batch JDBC, sem passar pelo merge do JPA
+    @Override
+    public void insertAll(Integer userWorkoutId, Collection<Integer> dayIds) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO workout_days (user_workouts_id, day_id) VALUES (?, ?)",
+                dayIds,
+                dayIds.size(),
+                (ps, dayId) -> {
+                    ps.setInt(1, userWorkoutId);
+                    ps.setInt(2, dayId);
+                });
+    }
+}
@@ -0,0 +1,68 @@
+package com.rafalift.spring_project.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limite de tentativas de login por IP e por email, checado antes do AuthenticationManager:
+ * uma rejeição não consulta o banco nem calcula hash. Janela deslizante em baldes de tempo
+ * (window / buckets), em memória e sem locks (SlidingWindowCounter).
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final SlidingWindowCounter ipCounter;
+    private final SlidingWindowCounter emailCounter;
+    private final int perIp;
+    private final int perEmail;
+    private final Duration retryAfter;
+    private final Counter allowed;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByEmail;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${auth.login-rate-limit.per-ip}") int perIp,
+                            @Value("${auth.login-rate-limit.per-email}") int perEmail,
+                            @Value("${auth.login-rate-limit.window}") Duration window,
+                            @Value("${auth.login-rate-limit.buckets}") int buckets,
+                            @Value("${auth.login-rate-limit.stripes}") int stripes) {
+        long bucketMillis = Math.max(1, window.toMillis() / buckets);
+        this.ipCounter = new SlidingWindowCounter(stripes, buckets, bucketMillis);
+        this.emailCounter = new SlidingWindowCounter(stripes, buckets, bucketMillis);
+        this.perIp = perIp;
+        this.perEmail = perEmail;
+        this.retryAfter = Duration.ofMillis(bucketMillis);
+        this.allowed = meterRegistry.counter("auth.login.rate_limit", "result", "allowed");
+        this.rejectedByIp = meterRegistry.counter("auth.login.rate_limit", "result", "rejected_ip");
+        this.rejectedByEmail = meterRegistry.counter("auth.login.rate_limit", "result", "rejected_email");
+    }
+
+    // IP primeiro: um IP bloqueado não consome a cota dos emails que ele tenta
+    public boolean tryAcquire(String email, String ip) {
+        long now = System.currentTimeMillis();
+        if (!ipCounter.tryAcquire(ip, perIp, now)) {
+            rejectedByIp.increment();
+            return false;
+        }
+        if (!emailCounter.tryAcquire(normalize(email), perEmail, now)) {
+            rejectedByEmail.increment();
+            return false;
+        }
+        allowed.increment();
+        return true;
+    }
+
+    // Tempo até o balde mais antigo sair da janela, arredondado para cima em segundos
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
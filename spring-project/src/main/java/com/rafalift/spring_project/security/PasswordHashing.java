@@ -0,0 +1,88 @@
+package com.rafalift.spring_project.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor dedicado e limitado para o trabalho de BCrypt (login, cadastro, troca/confirmação de senha).
+ * Poucas threads e fila curta: numa rajada de logins o excesso é rejeitado na hora
+ * (PasswordHashingUnavailableException -> 503) em vez de ocupar as threads que atendem o resto da API.
+ */
+@Component
+public class PasswordHashing {
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final TaskDecorator taskDecorator;
+    private final Duration timeout;
+    private final Counter rejected;
+
+    public PasswordHashing(MeterRegistry meterRegistry,
+                           ObjectProvider<TaskDecorator> taskDecorator,
+                           @Value("${auth.password-hashing.threads}") int threads,
+                           @Value("${auth.password-hashing.queue-capacity}") int queueCapacity,
+                           @Value("${auth.password-hashing.timeout}") Duration timeout) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password-hashing");
+        // Ex.: contexto da requisição que submete a tarefa; sem decorador, a tarefa roda como veio
+        this.taskDecorator = taskDecorator.getIfUnique(() -> runnable -> runnable);
+        this.timeout = timeout;
+        this.rejected = Counter.builder("password_hashing.rejected")
+                .description("Tarefas de hashing recusadas por fila cheia ou timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Roda a tarefa no pool e espera o resultado. Exceções da tarefa (ex.: BadCredentialsException)
+     * são relançadas como vieram. A tarefa passa pelo TaskDecorator da aplicação, se houver.
+     */
+    public <T> T run(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        try {
+            executor.execute(taskDecorator.decorate(future));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Fila de hashing cheia");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Hashing não concluído a tempo");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrompido aguardando hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
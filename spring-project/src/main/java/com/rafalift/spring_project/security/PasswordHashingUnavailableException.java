@@ -0,0 +1,8 @@
+package com.rafalift.spring_project.security;
+
+// Pool de hashing cheio (fila no limite) ou sem resposta dentro do timeout
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
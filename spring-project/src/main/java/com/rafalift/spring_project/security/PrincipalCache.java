@@ -0,0 +1,46 @@
+package com.rafalift.spring_project.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache limitado (tamanho + TTL) dos usuários autenticados, indexado pelo subject do JWT (email).
+ * Só atende tokens antigos, sem o claim "uid"; guarda o UserPrincipal (id, email, role),
+ * nunca a entidade com o hash da senha.
+ * Deve ser invalidado sempre que nome, senha ou a própria conta mudarem.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserPrincipal> cache;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${auth.principal-cache.max-size}") long maxSize,
+                          @Value("${auth.principal-cache.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Retorna o usuário em cache ou carrega com o loader informado.
+     * Resultados nulos (usuário inexistente) não são armazenados.
+     */
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+}
@@ -0,0 +1,44 @@
+package com.rafalift.spring_project.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.rafalift.spring_project.repository.UsersRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Diz se a conta de um access token ainda existe. A fonte é o banco (compartilhado entre as instâncias);
+ * o resultado fica em cache por pouco tempo para não consultar a cada requisição.
+ * A instância que exclui a conta marca na hora; as demais enxergam a exclusão ao recarregar a entrada:
+ * depois de refresh-interval a entrada é recarregada em segundo plano no próximo acesso,
+ * e nenhuma é usada com mais de 2x esse intervalo.
+ */
+@Component
+public class RevokedUsers {
+
+    private final LoadingCache<Integer, Boolean> exists;
+
+    public RevokedUsers(UsersRepository usersRepository, MeterRegistry meterRegistry,
+                        @Value("${auth.jwt.revocation.max-size}") long maxSize,
+                        @Value("${auth.jwt.revocation.refresh-interval}") Duration refreshInterval) {
+        this.exists = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshInterval)
+                .expireAfterWrite(refreshInterval.multipliedBy(2))
+                .recordStats()
+                .build(usersRepository::existsById);
+        CaffeineCacheMetrics.monitor(meterRegistry, exists, "revoked_users");
+    }
+
+    public void revoke(Integer userId) {
+        exists.put(userId, Boolean.FALSE);
+    }
+
+    public boolean isRevoked(Integer userId) {
+        return !exists.get(userId);
+    }
+}
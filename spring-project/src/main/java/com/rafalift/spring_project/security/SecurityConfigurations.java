@@ -1,6 +1,7 @@
 package com.rafalift.spring_project.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -27,6 +28,9 @@ public class SecurityConfigurations {
     @Autowired
     private SecurityFilter securityFilter;
 
+    @Value("${management.server.port}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -41,6 +45,11 @@ public class SecurityConfigurations {
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(HttpMethod.POST, "/auth/**")
                         .permitAll()
+                        // Actuator (health, prometheus) só responde na porta de gerenciamento, que não é exposta
+                        .requestMatchers(request -> request.getLocalPort() == managementPort)
+                        .permitAll()
+                        .requestMatchers("/admin/**")
+                        .hasRole("ADMIN")
                         .anyRequest()
                         .authenticated()
                 )
@@ -57,9 +66,10 @@ public class SecurityConfigurations {
         return authConfig.getAuthenticationManager();
     }
 
+    // Custo configurável; hashes já gravados com outro custo continuam sendo validados
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -68,6 +78,7 @@ public class SecurityConfigurations {
         config.setAllowedOriginPatterns(List.of("http://localhost:8081")); // ou "*"
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("ETag"));
         config.setAllowCredentials(true);
 
         var source = new UrlBasedCorsConfigurationSource();
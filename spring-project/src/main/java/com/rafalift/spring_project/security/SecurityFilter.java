@@ -1,6 +1,8 @@
 package com.rafalift.spring_project.security;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.rafalift.spring_project.model.UserRole;
+import com.rafalift.spring_project.model.Users;
 import com.rafalift.spring_project.security.TokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,6 +10,7 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,12 +26,21 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final RevokedUsers revokedUsers;
+    private final boolean strictMode;
 
     @Autowired
     public SecurityFilter(TokenService tokenService,
-                          UserDetailsService userDetailsService) {
+                          UserDetailsService userDetailsService,
+                          PrincipalCache principalCache,
+                          RevokedUsers revokedUsers,
+                          @Value("${auth.jwt.strict}") boolean strictMode) {
         this.tokenService = tokenService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.revokedUsers = revokedUsers;
+        this.strictMode = strictMode;
     }
 
     @Override
@@ -44,8 +56,7 @@ public class SecurityFilter extends OncePerRequestFilter {
                 String type = jwt.getClaim("type").asString();
                 // Só autentica se for um access token
                 if ("access".equals(type)) {
-                    String email = jwt.getSubject();
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                    UserDetails userDetails = resolvePrincipal(jwt);
                     if (userDetails != null) {
                         var auth = new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -67,7 +78,34 @@ public class SecurityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String recoverToken(HttpServletRequest request) {
+    /**
+     * Monta o principal a partir dos claims do token, sem consultar o banco.
+     * Tokens antigos (sem o claim "uid") caem no carregamento via PrincipalCache.
+     */
+    private UserDetails resolvePrincipal(DecodedJWT jwt) {
+        String email = jwt.getSubject();
+        Integer userId = jwt.getClaim("uid").asInt();
+
+        if (userId == null) {
+            return principalCache.get(email, this::loadPrincipal);
+        }
+
+        // Modo estrito: rejeita tokens de contas excluídas enquanto ainda não expiraram
+        if (strictMode && revokedUsers.isRevoked(userId)) {
+            throw new UsernameNotFoundException("User no longer exists");
+        }
+
+        String role = jwt.getClaim("role").asString();
+        return new UserPrincipal(userId, email, role != null ? UserRole.valueOf(role) : UserRole.USER);
+    }
+
+    private UserPrincipal loadPrincipal(String email) {
+        UserDetails user = userDetailsService.loadUserByUsername(email);
+        return user instanceof Users entity ? UserPrincipal.from(entity) : null;
+    }
+
+    // Visível no pacote para o SecurityFilterBenchmark
+    String recoverToken(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             return authHeader.substring(7);
@@ -0,0 +1,79 @@
+package com.rafalift.spring_project.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador de janela deslizante sem locks, com memória fixa.
+ * Cada chave cai (por hash com semente aleatória) em uma de N faixas; cada faixa tem B baldes de tempo.
+ * Cada balde guarda época e contagem empacotadas em um long e é atualizado por CAS;
+ * um balde de época antiga é simplesmente sobrescrito, então não há limpeza de chaves.
+ * Chaves que colidem na mesma faixa dividem o limite (erro só para o lado conservador).
+ */
+class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int stripes;
+    private final int buckets;
+    private final long bucketMillis;
+    private final int seed = ThreadLocalRandom.current().nextInt();
+    private final AtomicLongArray slots;
+
+    SlidingWindowCounter(int stripes, int buckets, long bucketMillis) {
+        this.stripes = stripes;
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+        this.slots = new AtomicLongArray(stripes * buckets);
+    }
+
+    /**
+     * Conta uma tentativa se a janela da chave ainda estiver abaixo do limite.
+     * Retorna false (sem contar) quando o limite já foi atingido.
+     * O limite é conferido dentro do laço de CAS, com o valor exato do balde que será trocado:
+     * em rajadas concorrentes só passa quem encontrou a janela abaixo do limite.
+     */
+    boolean tryAcquire(String key, int limit, long nowMillis) {
+        int base = stripe(key) * buckets;
+        long epoch = nowMillis / bucketMillis;
+        int index = base + (int) (epoch % buckets);
+        while (true) {
+            long current = slots.get(index);
+            boolean sameEpoch = (current >>> COUNT_BITS) == epoch;
+            long inCurrent = sameEpoch ? current & COUNT_MASK : 0;
+            if (countOthers(base, index, epoch) + inCurrent >= limit) {
+                return false;
+            }
+            long next = sameEpoch
+                    ? current + (inCurrent < COUNT_MASK ? 1 : 0)
+                    : (epoch << COUNT_BITS) | 1;
+            if (slots.compareAndSet(index, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    // Soma os outros baldes das últimas B épocas; os mais antigos são ignorados até serem sobrescritos
+    private long countOthers(int base, int skipIndex, long epoch) {
+        long total = 0;
+        for (int i = base; i < base + buckets; i++) {
+            if (i == skipIndex) {
+                continue;
+            }
+            long slot = slots.get(i);
+            if (epoch - (slot >>> COUNT_BITS) < buckets) {
+                total += slot & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    private int stripe(String key) {
+        int hash = key.hashCode() ^ seed;
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, stripes);
+    }
+}
@@ -6,27 +6,63 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.rafalift.spring_project.model.UserRole;
 import com.rafalift.spring_project.model.Users;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
+@Timed("service.invocations")
 public class TokenService {
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.key-id}")
+    private String keyId;                       // kid da chave usada para assinar
+
+    @Value("${api.security.token.previous-keys}")
+    private String previousKeys;                // "kid=segredo,kid=segredo", só para verificação
+
     @Value("${auth.jwt.token.expiration}")
     private Integer timeExpToken;               // em minutos
 
     @Value("${auth.jwt.refresh-token.expiration}")
     private Integer timeExpRefreshToken;        // em minutos
 
-    private Algorithm getAlgorithm() {
-        return Algorithm.HMAC256(secret);
+    // Algorithm e JWTVerifier são thread-safe: criados uma única vez na inicialização
+    private Algorithm signingAlgorithm;
+    private Map<String, JWTVerifier> verifiers;
+
+    @PostConstruct
+    void init() {
+        signingAlgorithm = Algorithm.HMAC256(secret);
+
+        Map<String, JWTVerifier> keyset = new HashMap<>();
+        keyset.put(keyId, buildVerifier(signingAlgorithm));
+        for (String entry : previousKeys.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+                throw new IllegalStateException("Invalid entry in api.security.token.previous-keys: expected kid=secret");
+            }
+            keyset.putIfAbsent(parts[0].trim(), buildVerifier(Algorithm.HMAC256(parts[1].trim())));
+        }
+        verifiers = Map.copyOf(keyset);
+    }
+
+    private JWTVerifier buildVerifier(Algorithm algorithm) {
+        return JWT.require(algorithm)
+                .withIssuer("auth-api")
+                .build();
     }
 
     private Instant genExpirationDate(Integer expirationMinutes) {
@@ -40,9 +76,12 @@ public class TokenService {
             return JWT.create()
                     .withIssuer("auth-api")
                     .withSubject(user.getEmail())
+                    .withClaim("uid", user.getId())
+                    .withClaim("role", (user.getRole() != null ? user.getRole() : UserRole.USER).name())
                     .withClaim("type", "access")
                     .withExpiresAt(genExpirationDate(timeExpToken))
-                    .sign(getAlgorithm());
+                    .withKeyId(keyId)
+                    .sign(signingAlgorithm);
         } catch (JWTCreationException e) {
             throw new RuntimeException("Could not generate access token", e);
         }
@@ -55,7 +94,8 @@ public class TokenService {
                     .withSubject(user.getEmail())
                     .withClaim("type", "refresh")
                     .withExpiresAt(genExpirationDate(timeExpRefreshToken))
-                    .sign(getAlgorithm());
+                    .withKeyId(keyId)
+                    .sign(signingAlgorithm);
         } catch (JWTCreationException e) {
             throw new RuntimeException("Could not generate refresh token", e);
         }
@@ -65,11 +105,15 @@ public class TokenService {
      * Verifica assinatura, issuer e expiração. 
      * Retorna o JWT decodificado para permitir checar claims. 
      * Lança JWTVerificationException em caso de falha.
+     * O header "kid" escolhe a chave; tokens sem kid usam a chave atual.
      */
     public DecodedJWT decodeToken(String token) throws JWTVerificationException {
-        return JWT.require(getAlgorithm())
-                .withIssuer("auth-api")
-                .build()
-                .verify(token);
+        DecodedJWT jwt = JWT.decode(token);
+        String kid = jwt.getKeyId();
+        JWTVerifier verifier = verifiers.get(kid != null ? kid : keyId);
+        if (verifier == null) {
+            throw new JWTVerificationException("Unknown token key id: " + kid);
+        }
+        return verifier.verify(jwt);
     }
 }
@@ -0,0 +1,39 @@
+package com.rafalift.spring_project.security;
+
+import com.rafalift.spring_project.model.UserRole;
+import com.rafalift.spring_project.model.Users;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal leve montado a partir dos claims do access token (uid, sub e role),
+ * sem precisar carregar a entidade Users do banco.
+ */
+public record UserPrincipal(Integer id, String email, UserRole role) implements UserDetails {
+
+    public static UserPrincipal from(Users user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // Nunca carregamos o hash da senha aqui
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        if (this.role == UserRole.ADMIN)
+            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+        else
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+}
@@ -17,9 +17,9 @@ public class UsersUtils {
 
     public Integer getCurrentUserId() {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
-        var userDetails = (UserDetails) authentication.getPrincipal();
-        Users user = (Users) usersRepository.findByEmail(userDetails.getUsername());
-        return user.getId();
+        // O id vem direto do claim "uid" do access token (ver SecurityFilter)
+        var principal = (UserPrincipal) authentication.getPrincipal();
+        return principal.id();
     }
 
     public Users getCurrentUser() {
@@ -1,6 +1,7 @@
 package com.rafalift.spring_project.service;
 
 import com.rafalift.spring_project.repository.UsersRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 @Primary
 @Service
+@Timed("service.invocations")
 public class AuthorizationService implements UserDetailsService {
     @Autowired
     UsersRepository usersRepository;
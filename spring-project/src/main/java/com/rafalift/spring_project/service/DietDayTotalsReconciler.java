@@ -0,0 +1,70 @@
+package com.rafalift.spring_project.service;
+
+import com.rafalift.spring_project.repository.DietDayTotalsRepository;
+import com.rafalift.spring_project.repository.UserDietsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recalcula diet_day_totals a partir de foods e corrige linhas divergentes
+ * (escritas fora do FoodsService, falhas parciais etc.).
+ * Percorre as dietas em lotes, cada lote na sua própria transação com as linhas travadas,
+ * para não perder deltas aplicados concorrentemente pelo FoodsService.
+ */
+@Component
+public class DietDayTotalsReconciler {
+
+    private final UserDietsRepository userDietsRepository;
+    private final DietDayTotalsRepository dietDayTotalsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter correctedRows;
+    private final int batchSize;
+
+    public DietDayTotalsReconciler(UserDietsRepository userDietsRepository,
+                                   DietDayTotalsRepository dietDayTotalsRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${diet-day-totals.reconcile-batch-size}") int batchSize) {
+        this.userDietsRepository = userDietsRepository;
+        this.dietDayTotalsRepository = dietDayTotalsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.correctedRows = Counter.builder("diet_day_totals.reconciled")
+                .description("Linhas de diet_day_totals corrigidas pela reconciliação")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${diet-day-totals.reconcile-interval}",
+            initialDelayString = "${diet-day-totals.reconcile-interval}")
+    public int reconcileAll() {
+        int corrected = 0;
+        Integer afterId = 0;
+        List<Integer> dietIds;
+        do {
+            dietIds = userDietsRepository.findIdsAfter(afterId, Limit.of(batchSize));
+            if (dietIds.isEmpty()) {
+                break;
+            }
+            corrected += reconcileBatch(dietIds);
+            afterId = dietIds.get(dietIds.size() - 1);
+        } while (dietIds.size() == batchSize);
+        return corrected;
+    }
+
+    private int reconcileBatch(List<Integer> dietIds) {
+        Integer corrected = transactionTemplate.execute(status -> {
+            dietDayTotalsRepository.lockByDietIds(dietIds);
+            return dietDayTotalsRepository.reconcile(dietIds);
+        });
+        int count = corrected == null ? 0 : corrected;
+        correctedRows.increment(count);
+        return count;
+    }
+}
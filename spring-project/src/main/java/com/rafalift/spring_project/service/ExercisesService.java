@@ -1,18 +1,26 @@
 package com.rafalift.spring_project.service;
 
+import com.rafalift.spring_project.dto.ExerciseDTO;
+import com.rafalift.spring_project.dto.ExercisesBatchRequest;
 import com.rafalift.spring_project.model.Exercises;
 import com.rafalift.spring_project.model.UserWorkouts;
 import com.rafalift.spring_project.repository.ExercisesRepository;
 import com.rafalift.spring_project.repository.UserWorkoutRepository;
-import com.rafalift.spring_project.repository.WorkoutCategoriesRepository;
 import com.rafalift.spring_project.security.UsersUtils;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("service.invocations")
 @Transactional
 public class ExercisesService {
     @Autowired
@@ -22,74 +30,116 @@ public class ExercisesService {
     private UserWorkoutRepository userWorkoutRepository;
 
     @Autowired
-    private UsersUtils usersUtils;
+    private UserContextCache userContextCache;
 
     @Autowired
-    private WorkoutCategoriesRepository workoutCategoriesRepository;
+    private UsersUtils usersUtils;
 
-    public List<Exercises> getAllExercisesForLoggedUser(String workoutName) {
+    public List<ExerciseDTO> getAllExercisesForLoggedUser(String workoutName) {
         Integer userId = usersUtils.getCurrentUserId();
-        UserWorkouts userWorkout = userWorkoutRepository
-                .findByUserIdAndWorkoutCategoryNome(userId.longValue(), workoutName)
-                .orElseThrow(() -> new RuntimeException("User workout not found"));
-        return exercisesRepository.findByWorkoutId(userWorkout.getId());
+        Integer userWorkoutId = userContextCache.getUserWorkoutId(userId, workoutName);
+        return exercisesRepository.findDTOsByWorkoutId(userWorkoutId);
     }
 
-    public Exercises addExerciseForWorkout(String workoutName, Exercises exercise) {
+    // ETag: uma consulta por PK em vez de carregar os exercícios
+    public String getWorkoutETag(String workoutName) {
         Integer userId = usersUtils.getCurrentUserId();
+        Integer userWorkoutId = userContextCache.getUserWorkoutId(userId, workoutName);
+        return userWorkoutRepository.findVersionById(userWorkoutId).tag();
+    }
 
-        UserWorkouts userWorkout = userWorkoutRepository
-                .findByUserIdAndWorkoutCategoryNome(userId.longValue(), workoutName)
-                .orElseThrow(() -> new RuntimeException("User workout not found for workout: " + workoutName));
-
-        if (userWorkout == null) {
-            throw new RuntimeException("User workout not found for workout: " + workoutName);
-        }
+    public ExerciseDTO addExerciseForWorkout(String workoutName, Exercises exercise) {
+        Integer userId = usersUtils.getCurrentUserId();
+        Integer userWorkoutId = userContextCache.getUserWorkoutId(userId, workoutName);
 
-        exercise.setWorkout(userWorkout);
+        // Id vindo do corpo faria o save virar merge sobre um exercício existente (de qualquer treino)
+        exercise.setId(null);
+        exercise.setWorkout(workoutReference(userWorkoutId));
 
-        return exercisesRepository.save(exercise);
+        Exercises created = exercisesRepository.save(exercise);
+        userWorkoutRepository.incrementVersion(userWorkoutId);
+        return ExerciseDTO.from(created);
     }
 
-
-
-    public Exercises updateExercise(String workoutName, Integer exerciseId, Exercises updatedExercise) {
+    public ExerciseDTO updateExercise(String workoutName, Integer exerciseId, Exercises updatedExercise) {
         Integer userId = usersUtils.getCurrentUserId();
-        UserWorkouts userWorkout = userWorkoutRepository
-                .findByUserIdAndWorkoutCategoryNome(userId.longValue(), workoutName)
-                .orElseThrow(() -> new RuntimeException("User workout not found"));
+        Integer userWorkoutId = userContextCache.getUserWorkoutId(userId, workoutName);
 
-        Exercises existingExercise = exercisesRepository.findById(exerciseId)
-                .orElseThrow(() -> new RuntimeException("Exercise not found"));
+        if (exercisesRepository.updateByIdAndWorkoutId(exerciseId, userWorkoutId, updatedExercise) == 0) {
+            throw new RuntimeException("Exercise not found");
+        }
+        userWorkoutRepository.incrementVersion(userWorkoutId);
 
-        if (!existingExercise.getWorkout().getId().equals(userWorkout.getId())) {
-            throw new RuntimeException("You cannot edit this exercise");
+        updatedExercise.setId(exerciseId);
+        return ExerciseDTO.from(updatedExercise);
+    }
+
+    /**
+     * Aplica inclusões, alterações e remoções de um treino em uma única transação.
+     * Inserts e updates saem em batch JDBC no flush; as remoções são um único DELETE.
+     * Um id de alteração ou remoção que não pertence ao treino desfaz tudo.
+     * Retorna a lista final de exercícios do treino, em ordem de id (não há coluna de posição para reordenar).
+     */
+    public List<ExerciseDTO> applyExercisesBatch(String workoutName, ExercisesBatchRequest request) {
+        Integer userId = usersUtils.getCurrentUserId();
+        Integer userWorkoutId = userContextCache.getUserWorkoutId(userId, workoutName);
+        List<Exercises> upserts = request.upserts() != null ? request.upserts() : List.of();
+        List<Integer> deletions = request.deletions() != null ? request.deletions() : List.of();
+
+        // Alterações: carrega de uma vez só os exercícios que pertencem ao treino
+        Map<Integer, Exercises> changes = upserts.stream()
+                .filter(exercise -> exercise.getId() != null)
+                .collect(Collectors.toMap(Exercises::getId, Function.identity(), (first, last) -> last));
+        if (!changes.isEmpty()) {
+            List<Exercises> existingExercises = exercisesRepository.findByWorkoutIdAndIdIn(userWorkoutId, changes.keySet());
+            if (existingExercises.size() != changes.size()) {
+                throw new RuntimeException("Exercise not found");
+            }
+            existingExercises.forEach(existing -> copyFields(changes.get(existing.getId()), existing));
         }
 
-        existingExercise.setGrupo_muscular(updatedExercise.getGrupo_muscular());
-        existingExercise.setNome(updatedExercise.getNome());
-        existingExercise.setSeries(updatedExercise.getSeries());
-        existingExercise.setRepeticoes(updatedExercise.getRepeticoes());
-        existingExercise.setPeso(updatedExercise.getPeso());
-        existingExercise.setTempo(updatedExercise.getTempo());
-        existingExercise.setAnotacao(updatedExercise.getAnotacao());
+        UserWorkouts workout = workoutReference(userWorkoutId);
+        List<Exercises> newExercises = upserts.stream()
+                .filter(exercise -> exercise.getId() == null)
+                .toList();
+        newExercises.forEach(exercise -> exercise.setWorkout(workout));
+        exercisesRepository.saveAll(newExercises);
+
+        // Remoções: como nas alterações, um id que não é do treino invalida o lote inteiro
+        Set<Integer> deletionIds = new HashSet<>(deletions);
+        if (!deletionIds.isEmpty()
+                && exercisesRepository.deleteByWorkoutIdAndIdIn(userWorkoutId, deletionIds) != deletionIds.size()) {
+            throw new RuntimeException("Exercise not found");
+        }
+        userWorkoutRepository.incrementVersion(userWorkoutId);
 
-        return exercisesRepository.save(existingExercise);
+        return exercisesRepository.findDTOsByWorkoutId(userWorkoutId);
     }
 
     public void deleteExercise(String workoutName, Integer exerciseId) {
         Integer userId = usersUtils.getCurrentUserId();
-        UserWorkouts userWorkout = userWorkoutRepository
-                .findByUserIdAndWorkoutCategoryNome(userId.longValue(), workoutName)
-                .orElseThrow(() -> new RuntimeException("User workout not found"));
+        Integer userWorkoutId = userContextCache.getUserWorkoutId(userId, workoutName);
 
-        Exercises exercise = exercisesRepository.findById(exerciseId)
-                .orElseThrow(() -> new RuntimeException("Exercise not found"));
-
-        if (!exercise.getWorkout().getId().equals(userWorkout.getId())) {
-            throw new RuntimeException("You cannot delete this exercise");
+        if (exercisesRepository.deleteByIdAndWorkoutId(exerciseId, userWorkoutId) == 0) {
+            throw new RuntimeException("Exercise not found");
         }
+        userWorkoutRepository.incrementVersion(userWorkoutId);
+    }
+
+    private void copyFields(Exercises source, Exercises target) {
+        target.setGrupo_muscular(source.getGrupo_muscular());
+        target.setNome(source.getNome());
+        target.setSeries(source.getSeries());
+        target.setRepeticoes(source.getRepeticoes());
+        target.setPeso(source.getPeso());
+        target.setTempo(source.getTempo());
+        target.setAnotacao(source.getAnotacao());
+    }
 
-        exercisesRepository.delete(exercise);
+    // Só o id é necessário para a FK; evita carregar o treino do banco
+    private UserWorkouts workoutReference(Integer userWorkoutId) {
+        UserWorkouts workout = new UserWorkouts();
+        workout.setId(userWorkoutId);
+        return workout;
     }
-}
\ No newline at end of file
+}
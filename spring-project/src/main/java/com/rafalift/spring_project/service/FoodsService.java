@@ -1,23 +1,22 @@
 package com.rafalift.spring_project.service;
 
+import com.rafalift.spring_project.dto.DietDaySummaryDTO;
+import com.rafalift.spring_project.dto.FoodDTO;
 import com.rafalift.spring_project.model.Foods;
 import com.rafalift.spring_project.model.UserDiets;
-import com.rafalift.spring_project.model.Users;
-import com.rafalift.spring_project.repository.DaysCategoriesRepository;
+import com.rafalift.spring_project.repository.DietDayTotalsRepository;
 import com.rafalift.spring_project.repository.FoodsRepository;
 import com.rafalift.spring_project.repository.UserDietsRepository;
-import com.rafalift.spring_project.repository.UsersRepository;
 import com.rafalift.spring_project.security.UsersUtils;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
 import java.util.List;
 
 @Service
+@Timed("service.invocations")
 @Transactional
 public class FoodsService {
 
@@ -26,73 +25,117 @@ public class FoodsService {
     @Autowired
     private UserDietsRepository userDietsRepository;
     @Autowired
-    private DaysCategoriesRepository daysCategoriesRepository;
+    private DietDayTotalsRepository dietDayTotalsRepository;
+    @Autowired
+    private UserGCDCache userGCDCache;
+    @Autowired
+    private UserContextCache userContextCache;
     @Autowired
     private UsersUtils usersUtils;
 
-    public List<Foods> getAllFoodsForLoggedUser(String dayName) {
+    public List<FoodDTO> getAllFoodsForLoggedUser(String dayName) {
         Integer userId = usersUtils.getCurrentUserId();
-
-        UserDiets userDiet = userDietsRepository
-                .findByUserIdAndDay_Nome(userId.longValue(), dayName)
-                .orElseThrow(() -> new RuntimeException("User diet not found"));
-        return foodsRepository.findByDiet(userDiet);
+        Integer dietId = userContextCache.getDietId(userId, dayName);
+        return foodsRepository.findDTOsByDietId(dietId);
     }
 
-    public Foods addFoodForDay(String dayName, Foods food) {
+    // ETags: uma consulta por PK em vez de carregar os alimentos
+    public String getDayETag(String dayName) {
         Integer userId = usersUtils.getCurrentUserId();
+        Integer dietId = userContextCache.getDietId(userId, dayName);
+        return userDietsRepository.findVersionById(dietId).tag();
+    }
 
-        UserDiets userDiet = userDietsRepository.findByUserIdAndDay_Nome(userId.longValue(), dayName)
-                .orElseThrow(() -> new RuntimeException("User diet not found"));
-
-        if (userDiet == null) {
-            throw new RuntimeException("User workout not found for workout: " + dayName);
-        }
+    // O resumo também depende das metas do usuário
+    public String getDaySummaryETag(String dayName) {
+        Integer userId = usersUtils.getCurrentUserId();
+        Integer dietId = userContextCache.getDietId(userId, dayName);
+        String gcdTag = userGCDCache.get(userId).map(gcd -> gcd.versionStamp().tag()).orElse("none");
+        return userDietsRepository.findVersionById(dietId).tag() + "-" + gcdTag;
+    }
 
-        food.setDiet(userDiet);
-        return foodsRepository.save(food);
+    public DietDaySummaryDTO getDaySummary(String dayName) {
+        Integer userId = usersUtils.getCurrentUserId();
+        Integer dietId = userContextCache.getDietId(userId, dayName);
+        return DietDaySummaryDTO.of(userDietsRepository.findTotalsByDietId(dietId));
     }
 
-    public Foods updateFood(String dayName, Integer foodId, Foods updatedFood) {
+    public FoodDTO addFoodForDay(String dayName, Foods food) {
         Integer userId = usersUtils.getCurrentUserId();
+        Integer dietId = userContextCache.getDietId(userId, dayName);
+
+        // Id vindo do corpo faria o save virar merge sobre um alimento existente (de qualquer dieta)
+        food.setId(null);
+        food.setDiet(dietReference(dietId));
+        Foods created = foodsRepository.save(food);
+        addToTotals(dietId, List.of(created));
+        userDietsRepository.incrementVersion(dietId);
+        return FoodDTO.from(created);
+    }
 
-        UserDiets userDiet = userDietsRepository.findByUserIdAndDay_Nome(userId.longValue(), dayName)
-                .orElseThrow(() -> new RuntimeException("User diet not found"));
+    // Resolve a dieta uma vez e insere todos os alimentos em batch JDBC
+    public List<FoodDTO> addFoodsForDay(String dayName, List<Foods> foods) {
+        Integer userId = usersUtils.getCurrentUserId();
+        Integer dietId = userContextCache.getDietId(userId, dayName);
+
+        UserDiets diet = dietReference(dietId);
+        foods.forEach(food -> {
+            food.setId(null);
+            food.setDiet(diet);
+        });
+        List<Foods> created = foodsRepository.saveAll(foods);
+        addToTotals(dietId, created);
+        userDietsRepository.incrementVersion(dietId);
+        return created.stream().map(FoodDTO::from).toList();
+    }
 
-        Foods existingFood = foodsRepository.findById(foodId)
-                .orElseThrow(() -> new RuntimeException("Food not found"));
+    public FoodDTO updateFood(String dayName, Integer foodId, Foods updatedFood) {
+        Integer userId = usersUtils.getCurrentUserId();
+        Integer dietId = userContextCache.getDietId(userId, dayName);
 
-        if (!existingFood.getDiet().getId().equals(userDiet.getId())) {
-            throw new RuntimeException("You cannot edit this food");
+        dietDayTotalsRepository.subtractFood(foodId, dietId);
+        if (foodsRepository.updateByIdAndDietId(foodId, dietId, updatedFood) == 0) {
+            throw new RuntimeException("Food not found");
         }
+        addToTotals(dietId, List.of(updatedFood));
+        userDietsRepository.incrementVersion(dietId);
 
-        existingFood.setTipo_alimento(updatedFood.getTipo_alimento());
-        existingFood.setAlimento(updatedFood.getAlimento());
-        existingFood.setPeso(updatedFood.getPeso());
-        existingFood.setCalorias(updatedFood.getCalorias());
-        existingFood.setCarboidratos(updatedFood.getCarboidratos());
-        existingFood.setProteinas(updatedFood.getProteinas());
-        existingFood.setFibras(updatedFood.getFibras());
-        existingFood.setGorduras(updatedFood.getGorduras());
-        existingFood.setAnotacao(updatedFood.getAnotacao());
-        existingFood.setHorario(updatedFood.getHorario());
-
-        return foodsRepository.save(existingFood);
+        updatedFood.setId(foodId);
+        return FoodDTO.from(updatedFood);
     }
 
     public void deleteFood(String dayName, Integer foodId) {
         Integer userId = usersUtils.getCurrentUserId();
+        Integer dietId = userContextCache.getDietId(userId, dayName);
 
-        UserDiets userDiet = userDietsRepository.findByUserIdAndDay_Nome(userId.longValue(), dayName)
-                .orElseThrow(() -> new RuntimeException("User diet not found"));
-
-        Foods food = foodsRepository.findById(foodId)
-                .orElseThrow(() -> new RuntimeException("Food not found"));
+        dietDayTotalsRepository.subtractFood(foodId, dietId);
+        if (foodsRepository.deleteByIdAndDietId(foodId, dietId) == 0) {
+            throw new RuntimeException("Food not found");
+        }
+        userDietsRepository.incrementVersion(dietId);
+    }
 
-        if (!food.getDiet().getId().equals(userDiet.getId())) {
-            throw new RuntimeException("You cannot delete this food");
+    // Um único UPDATE por escrita, na mesma transação que altera foods
+    private void addToTotals(Integer dietId, List<Foods> foods) {
+        long carboidratos = 0, proteinas = 0, fibras = 0, gorduras = 0, calorias = 0;
+        for (Foods food : foods) {
+            carboidratos += valueOf(food.getCarboidratos());
+            proteinas += valueOf(food.getProteinas());
+            fibras += valueOf(food.getFibras());
+            gorduras += valueOf(food.getGorduras());
+            calorias += valueOf(food.getCalorias());
         }
+        dietDayTotalsRepository.addDelta(dietId, carboidratos, proteinas, fibras, gorduras, calorias);
+    }
+
+    private static long valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
 
-        foodsRepository.delete(food);
+    // Só o id é necessário para a FK; evita carregar a dieta do banco
+    private UserDiets dietReference(Integer dietId) {
+        UserDiets diet = new UserDiets();
+        diet.setId(dietId);
+        return diet;
     }
-}
\ No newline at end of file
+}
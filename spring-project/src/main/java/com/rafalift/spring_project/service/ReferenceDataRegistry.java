@@ -0,0 +1,79 @@
+package com.rafalift.spring_project.service;
+
+import com.rafalift.spring_project.model.DaysCategories;
+import com.rafalift.spring_project.model.WorkoutCategories;
+import com.rafalift.spring_project.repository.DaysCategoriesRepository;
+import com.rafalift.spring_project.repository.WorkoutCategoriesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Tabelas de referência (dias da semana e categorias de treino) mantidas em memória.
+ * São pequenas e quase estáticas, então o nome -> id é resolvido sem ir ao banco.
+ * Carregadas quando a aplicação sobe e recarregadas periodicamente ou por um admin.
+ */
+@Component
+public class ReferenceDataRegistry {
+
+    private record Snapshot(Map<String, Integer> dayIds, Map<String, Integer> workoutCategoryIds) {}
+
+    @Autowired
+    private DaysCategoriesRepository daysCategoriesRepository;
+
+    @Autowired
+    private WorkoutCategoriesRepository workoutCategoriesRepository;
+
+    private volatile Snapshot snapshot;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${reference-data.refresh-interval}",
+            initialDelayString = "${reference-data.refresh-interval}")
+    public void refresh() {
+        Map<String, Integer> dayIds = daysCategoriesRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(day -> normalize(day.getNome()), DaysCategories::getId));
+        Map<String, Integer> workoutCategoryIds = workoutCategoriesRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(category -> normalize(category.getNome()), WorkoutCategories::getId));
+        snapshot = new Snapshot(dayIds, workoutCategoryIds);
+    }
+
+    public Optional<Integer> findDayId(String name) {
+        return Optional.ofNullable(current().dayIds().get(normalize(name)));
+    }
+
+    public Optional<Integer> findWorkoutCategoryId(String name) {
+        return Optional.ofNullable(current().workoutCategoryIds().get(normalize(name)));
+    }
+
+    // Requisições que chegam antes do ApplicationReadyEvent carregam sob demanda.
+    // Lock em vez de synchronized: uma thread virtual fazendo I/O dentro de synchronized prende a carrier
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,83 @@
+package com.rafalift.spring_project.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rafalift.spring_project.repository.UserDietsRepository;
+import com.rafalift.spring_project.repository.UserWorkoutRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache por usuário de (userId, dia) -> user_diets.id e (userId, treino) -> user_workouts.id.
+ * Essas linhas são criadas pelos triggers de users e não mudam enquanto a conta existir,
+ * então a checagem de posse vira um filtro "WHERE id = ? AND diet_id = ?" no próprio comando.
+ * O Caffeine já particiona os locks internamente, então acessos concorrentes não disputam entre si.
+ */
+@Component
+public class UserContextCache {
+
+    private record DietKey(Integer userId, Integer dayId) {}
+
+    private record WorkoutKey(Integer userId, Integer workoutCategoryId) {}
+
+    private final UserDietsRepository userDietsRepository;
+    private final UserWorkoutRepository userWorkoutRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final Cache<DietKey, Integer> dietIds;
+    private final Cache<WorkoutKey, Integer> userWorkoutIds;
+
+    public UserContextCache(UserDietsRepository userDietsRepository,
+                            UserWorkoutRepository userWorkoutRepository,
+                            ReferenceDataRegistry referenceDataRegistry,
+                            MeterRegistry meterRegistry,
+                            @Value("${user-context-cache.max-size}") long maxSize,
+                            @Value("${user-context-cache.ttl}") Duration ttl) {
+        this.userDietsRepository = userDietsRepository;
+        this.userWorkoutRepository = userWorkoutRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
+        this.dietIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        this.userWorkoutIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, dietIds, "user-diet-ids");
+        CaffeineCacheMetrics.monitor(meterRegistry, userWorkoutIds, "user-workout-ids");
+    }
+
+    public Integer getDietId(Integer userId, String dayName) {
+        Integer dayId = referenceDataRegistry.findDayId(dayName)
+                .orElseThrow(() -> new RuntimeException("User diet not found"));
+        Integer dietId = dietIds.get(new DietKey(userId, dayId),
+                key -> userDietsRepository.findIdByUserIdAndDayId(key.userId(), key.dayId()).orElse(null));
+        if (dietId == null) {
+            throw new RuntimeException("User diet not found");
+        }
+        return dietId;
+    }
+
+    public Integer getUserWorkoutId(Integer userId, String workoutName) {
+        Integer workoutCategoryId = referenceDataRegistry.findWorkoutCategoryId(workoutName)
+                .orElseThrow(() -> new RuntimeException("User workout not found for workout: " + workoutName));
+        Integer userWorkoutId = userWorkoutIds.get(new WorkoutKey(userId, workoutCategoryId),
+                key -> userWorkoutRepository.findIdByUserIdAndWorkoutCategoryId(key.userId(), key.workoutCategoryId()).orElse(null));
+        if (userWorkoutId == null) {
+            throw new RuntimeException("User workout not found for workout: " + workoutName);
+        }
+        return userWorkoutId;
+    }
+
+    // Chamado quando a conta é excluída
+    public void evictUser(Integer userId) {
+        dietIds.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+        userWorkoutIds.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+}
@@ -0,0 +1,84 @@
+package com.rafalift.spring_project.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.rafalift.spring_project.dto.UserGCDDTO;
+import com.rafalift.spring_project.repository.UserGCDRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache das metas (UserGCD) por userId, preenchido na leitura e atualizado pelo UserGCDService
+ * (write-through na gravação, remoção na exclusão). A ausência de metas também fica em cache.
+ * As escritas só chegam ao cache depois do commit, e uma versão mais antiga nunca substitui uma mais nova.
+ * O write-through vale só para esta instância; as demais enxergam a mudança ao recarregar a entrada do banco
+ * (em segundo plano no primeiro acesso depois de refresh-interval; nenhuma entrada passa de 2x esse intervalo).
+ * Como a versão das metas entra nos ETags de /DietDay/summary e /week, esse intervalo também limita
+ * por quanto tempo outra instância pode responder 304 com metas antigas.
+ */
+@Component
+public class UserGCDCache {
+
+    private final UserGCDRepository userGCDRepository;
+    private final LoadingCache<Integer, Optional<UserGCDDTO>> cache;
+
+    public UserGCDCache(UserGCDRepository userGCDRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${user-gcd-cache.max-size}") long maxSize,
+                        @Value("${user-gcd-cache.refresh-interval}") Duration refreshInterval) {
+        this.userGCDRepository = userGCDRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshInterval)
+                .expireAfterWrite(refreshInterval.multipliedBy(2))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-gcd");
+    }
+
+    public Optional<UserGCDDTO> get(Integer userId) {
+        return cache.get(userId);
+    }
+
+    private Optional<UserGCDDTO> load(Integer userId) {
+        return userGCDRepository.findByUserId(userId).map(UserGCDDTO::from);
+    }
+
+    public void put(Integer userId, UserGCDDTO userGCD) {
+        afterCommit(() -> cache.asMap().merge(userId, Optional.of(userGCD), UserGCDCache::newer));
+    }
+
+    public void evict(Integer userId) {
+        afterCommit(() -> cache.invalidate(userId));
+    }
+
+    // Mesma linha (mesmo id): fica a de maior versão; linha recriada ou ausência: fica a nova
+    private static Optional<UserGCDDTO> newer(Optional<UserGCDDTO> current, Optional<UserGCDDTO> candidate) {
+        if (current.isPresent() && candidate.isPresent()
+                && current.get().id().equals(candidate.get().id())
+                && current.get().version() > candidate.get().version()) {
+            return current;
+        }
+        return candidate;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,9 +1,11 @@
 package com.rafalift.spring_project.service;
 
+import com.rafalift.spring_project.dto.UserGCDDTO;
 import com.rafalift.spring_project.model.UserGCD;
 import com.rafalift.spring_project.model.Users;
 import com.rafalift.spring_project.repository.UserGCDRepository;
 import com.rafalift.spring_project.security.UsersUtils;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,6 +15,7 @@ import java.util.Map;
 import java.util.Optional;
 
 @Service
+@Timed("service.invocations")
 @Transactional
 public class UserGCDService {
 
@@ -22,14 +25,25 @@ public class UserGCDService {
     @Autowired
     private UserGCDRepository userGCDRepository;
 
+    @Autowired
+    private UserGCDCache userGCDCache;
+
+    // ETag pela versão (@Version) das metas em cache; o id entra para distinguir metas recriadas
+    public String getUserGCDETag() {
+        Integer userId = usersUtils.getCurrentUserId();
+        return userGCDCache.get(userId)
+                .map(gcd -> gcd.versionStamp().tag())
+                .orElse("none." + userId);
+    }
+
     // Versão modificada que retorna Optional
-    public Optional<UserGCD> findUserGCD() {
+    public Optional<UserGCDDTO> findUserGCD() {
         Integer userId = usersUtils.getCurrentUserId();
-        return userGCDRepository.findByUserId(userId);
+        return userGCDCache.get(userId);
     }
 
     // Versão original modificada para retornar null em vez de lançar exceção
-    public UserGCD getUserGCD() {
+    public UserGCDDTO getUserGCD() {
         return findUserGCD().orElse(null);
     }
 
@@ -37,24 +51,24 @@ public class UserGCDService {
     public Map<String, Integer> getUserGCDData() {
         return findUserGCD()
                 .map(gcd -> Map.of(
-                        "carboidratos", gcd.getCarboidratos_gcd(),
-                        "proteinas", gcd.getProteinas_gcd(),
-                        "fibras", gcd.getFibras_gcd(),
-                        "gorduras", gcd.getGorduras_gcd(),
-                        "calorias", gcd.getGcd()
+                        "carboidratos", gcd.carboidratos_gcd(),
+                        "proteinas", gcd.proteinas_gcd(),
+                        "fibras", gcd.fibras_gcd(),
+                        "gorduras", gcd.gorduras_gcd(),
+                        "calorias", gcd.gcd()
                 ))
                 .orElse(Collections.emptyMap());
     }
 
-    public UserGCD addUserGCD(UserGCD userGCD) {
+    public UserGCDDTO addUserGCD(UserGCD userGCD) {
         Integer userId = usersUtils.getCurrentUserId();
         Users user = new Users();
         user.setId(userId);
         userGCD.setUser(user);
-        return userGCDRepository.save(userGCD);
+        return writeThrough(userId, userGCD);
     }
 
-    public UserGCD updateUserGCD(UserGCD updateGCD) {
+    public UserGCDDTO updateUserGCD(UserGCD updateGCD) {
         Integer userId = usersUtils.getCurrentUserId();
 
         UserGCD existingUserGCD = userGCDRepository.findByUserId(userId)
@@ -72,7 +86,7 @@ public class UserGCDService {
         existingUserGCD.setGorduras_gcd(updateGCD.getGorduras_gcd());
         existingUserGCD.setGcd(updateGCD.getGcd());
 
-        return userGCDRepository.save(existingUserGCD);
+        return writeThrough(userId, existingUserGCD);
     }
 
     public void deleteUserGCD() {
@@ -80,5 +94,13 @@ public class UserGCDService {
         UserGCD userGCD = userGCDRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("UserGCD not found"));
         userGCDRepository.delete(userGCD);
+        userGCDCache.evict(userId);
+    }
+
+    // Flush para o cache receber a versão já incrementada pelo @Version
+    private UserGCDDTO writeThrough(Integer userId, UserGCD userGCD) {
+        UserGCDDTO saved = UserGCDDTO.from(userGCDRepository.saveAndFlush(userGCD));
+        userGCDCache.put(userId, saved);
+        return saved;
     }
-}
\ No newline at end of file
+}
@@ -2,11 +2,13 @@ package com.rafalift.spring_project.service;
 
 import com.rafalift.spring_project.model.Users;
 import com.rafalift.spring_project.repository.UsersRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
+@Timed("service.invocations")
 public class UsersService {
     private UsersRepository usersRepository;
     public UsersService(UsersRepository usersRepository) {
@@ -35,6 +37,13 @@ public class UsersService {
         return null;
     }
 
+    // updateById só copia nome e email; a senha (já criptografada) é gravada aqui
+    public Users updatePassword(Integer id, String encodedPassword) {
+        Users user = findById(id);
+        user.setSenha(encodedPassword);
+        return usersRepository.save(user);
+    }
+
     public void deleteById(Integer id) {
         Users user = findById(id);
         usersRepository.deleteById(user.getId());
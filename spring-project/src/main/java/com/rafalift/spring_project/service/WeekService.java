@@ -0,0 +1,56 @@
+package com.rafalift.spring_project.service;
+
+import com.rafalift.spring_project.dto.DietDaySummaryDTO;
+import com.rafalift.spring_project.dto.WeekDayDTO;
+import com.rafalift.spring_project.dto.WeekWorkoutDTO;
+import com.rafalift.spring_project.dto.WeekWorkoutRow;
+import com.rafalift.spring_project.repository.UserDietsRepository;
+import com.rafalift.spring_project.repository.UserWorkoutRepository;
+import com.rafalift.spring_project.security.UsersUtils;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Timed("service.invocations")
+public class WeekService {
+
+    @Autowired
+    private UserDietsRepository userDietsRepository;
+    @Autowired
+    private UserWorkoutRepository userWorkoutRepository;
+    @Autowired
+    private UserGCDCache userGCDCache;
+    @Autowired
+    private UsersUtils usersUtils;
+
+    // Versões das dietas e dos treinos (duas consultas agregadas) e das metas (em cache), sem carregar a semana
+    public String getWeekETag() {
+        Integer userId = usersUtils.getCurrentUserId();
+        String gcdTag = userGCDCache.get(userId).map(gcd -> gcd.versionStamp().tag()).orElse("none");
+        return userId + "." + userDietsRepository.sumVersionsByUserId(userId)
+                + "." + userWorkoutRepository.sumVersionsByUserId(userId) + "-" + gcdTag;
+    }
+
+    // Duas consultas para a semana inteira: dietas (com metas) e treinos por dia
+    public List<WeekDayDTO> getWeek() {
+        Integer userId = usersUtils.getCurrentUserId();
+
+        Map<Integer, List<WeekWorkoutDTO>> workoutsByDay = userWorkoutRepository.findWeekWorkoutRowsByUserId(userId)
+                .stream()
+                .collect(Collectors.groupingBy(WeekWorkoutRow::dayId,
+                        Collectors.mapping(row -> new WeekWorkoutDTO(row.workoutId(), row.setName(), row.exerciseCount()),
+                                Collectors.toList())));
+
+        return userDietsRepository.findWeekRowsByUserId(userId).stream()
+                .map(row -> new WeekDayDTO(
+                        row.dayName(),
+                        workoutsByDay.getOrDefault(row.dayId(), List.of()),
+                        DietDaySummaryDTO.of(row.totals())))
+                .toList();
+    }
+}
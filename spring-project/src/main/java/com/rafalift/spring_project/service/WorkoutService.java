@@ -1,21 +1,24 @@
 package com.rafalift.spring_project.service;
 
+import com.rafalift.spring_project.dto.DayExerciseDTO;
 import com.rafalift.spring_project.dto.UserWorkoutDTO;
+import com.rafalift.spring_project.dto.WorkoutDayRow;
 import com.rafalift.spring_project.dto.WorkoutDaysRequest;
 import com.rafalift.spring_project.model.*;
-import com.rafalift.spring_project.repository.DaysCategoriesRepository;
 import com.rafalift.spring_project.repository.ExercisesRepository;
 import com.rafalift.spring_project.repository.UserWorkoutRepository;
 import com.rafalift.spring_project.repository.WorkoutDayRepository;
 import com.rafalift.spring_project.security.UsersUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 @Service
+@Timed("service.invocations")
 public class WorkoutService {
 
     @Autowired
@@ -25,7 +28,7 @@ public class WorkoutService {
     private WorkoutDayRepository workoutDayRepository;
 
     @Autowired
-    private DaysCategoriesRepository daysCategoryRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Autowired
     private UsersUtils usersUtils;
@@ -33,64 +36,70 @@ public class WorkoutService {
     @Autowired
     private ExercisesRepository exercisesRepository;
 
-    public List<UserWorkoutDTO> getUserWorkouts() {
+    @Autowired
+    private UserContextCache userContextCache;
+
+    // Muda a cada escrita em qualquer treino do usuário (dias ou exercícios)
+    public String getUserWorkoutsETag() {
         Integer userId = usersUtils.getCurrentUserId();
+        return userId + "." + userWorkoutRepository.sumVersionsByUserId(userId);
+    }
 
-        List<UserWorkouts> workouts = userWorkoutRepository.findByUserId(userId.longValue());
+    public List<UserWorkoutDTO> getUserWorkouts() {
+        Integer userId = usersUtils.getCurrentUserId();
 
-        List<UserWorkoutDTO> workoutDTOs = new ArrayList<>();
+        // Agrupa as linhas (treino, dia) vindas de uma única consulta
+        Map<Integer, UserWorkoutDTO> workoutDTOs = new LinkedHashMap<>();
 
-        for (UserWorkouts workout : workouts) {
-            List<WorkoutDays> days = workoutDayRepository.findByUserWorkout(workout);
-            List<String> dayNames = days.stream()
-                    .map(wd -> wd.getDay().getNome())
-                    .toList();
-            workoutDTOs.add(new UserWorkoutDTO(workout.getWorkoutCategory().getNome(), dayNames));
+        for (WorkoutDayRow row : userWorkoutRepository.findWorkoutDayRowsByUserId(userId)) {
+            UserWorkoutDTO dto = workoutDTOs.computeIfAbsent(row.workoutId(),
+                    id -> new UserWorkoutDTO(row.setName(), new ArrayList<>()));
+            if (row.dayName() != null) {
+                dto.days().add(row.dayName());
+            }
         }
 
-        return workoutDTOs;
+        return new ArrayList<>(workoutDTOs.values());
     }
 
+    @Transactional
     public void updateWorkoutDays(WorkoutDaysRequest request) {
         Integer userId = usersUtils.getCurrentUserId();
 
-        UserWorkouts userWorkout = userWorkoutRepository.findByUserIdAndWorkoutCategoryNome(userId.longValue(), request.setName())
-                .orElseThrow(() -> new RuntimeException("Treino não encontrado"));
+        // Só o id é necessário; carregar a entidade trazia usuário e categoria em selects extras (EAGER)
+        Integer userWorkoutId = userContextCache.getUserWorkoutId(userId, request.setName());
 
-        // Apaga dias antigos
-        List<WorkoutDays> existingDays = workoutDayRepository.findByUserWorkout(userWorkout);
-        workoutDayRepository.deleteAll(existingDays);
-
-        // Adiciona novos dias
+        // Nomes dos dias resolvidos em memória
+        Set<Integer> requestedDays = new HashSet<>();
         for (String dayName : request.days()) {
-            DaysCategories day = daysCategoryRepository.findByNomeIgnoreCase(dayName.toLowerCase())
-                    .orElseThrow(() -> new RuntimeException("Dia inválido: " + dayName));
-
-            WorkoutDays workoutDay = new WorkoutDays();
-            workoutDay.setUserWorkout(userWorkout);
-            workoutDay.setDay(day);
-            workoutDay.setId(new WorkoutDayId(userWorkout.getId(), day.getId()));
-            workoutDayRepository.save(workoutDay);
+            requestedDays.add(referenceDataRegistry.findDayId(dayName)
+                    .orElseThrow(() -> new RuntimeException("Dia inválido: " + dayName)));
         }
-    }
 
-    public List<Exercises> getWorkoutByDay(String dayName) {
-        Integer userId = usersUtils.getCurrentUserId();
-        Integer dayId = daysCategoryRepository.findByNomeIgnoreCase(dayName)
-                .orElseThrow(() -> new RuntimeException("Dia não encontrado"))
-                .getId();
-
-        List<UserWorkouts> userWorkouts = userWorkoutRepository.findByUserId(userId.longValue());
-
-        for (UserWorkouts workout : userWorkouts) {
-            List<WorkoutDays> days = workoutDayRepository.findByUserWorkout(workout);
-            for (WorkoutDays wd : days) {
-                if (wd.getDay().getId().equals(dayId)) {
-                    return exercisesRepository.findByWorkoutId(workout.getId());
-                }
-            }
+        // Aplica só a diferença: remove os dias que saíram e insere os que entraram
+        Set<Integer> existingDays = new HashSet<>(workoutDayRepository.findDayIdsByUserWorkoutId(userWorkoutId));
+
+        Set<Integer> removedDays = new HashSet<>(existingDays);
+        removedDays.removeAll(requestedDays);
+        Set<Integer> addedDays = new HashSet<>(requestedDays);
+        addedDays.removeAll(existingDays);
+
+        if (!removedDays.isEmpty()) {
+            workoutDayRepository.deleteByUserWorkoutIdAndDayIds(userWorkoutId, removedDays);
         }
+        if (!addedDays.isEmpty()) {
+            workoutDayRepository.insertAll(userWorkoutId, addedDays);
+        }
+        if (!removedDays.isEmpty() || !addedDays.isEmpty()) {
+            userWorkoutRepository.incrementVersion(userWorkoutId);
+        }
+    }
 
-        return List.of(); // Nenhum treino para hoje
+    public List<DayExerciseDTO> getWorkoutByDay(String dayName) {
+        Integer userId = usersUtils.getCurrentUserId();
+        Integer dayId = referenceDataRegistry.findDayId(dayName)
+                .orElseThrow(() -> new RuntimeException("Dia não encontrado"));
+        // Lista vazia quando não há treino para o dia
+        return exercisesRepository.findDayExercisesByUserIdAndDayId(userId, dayId);
     }
 }
@@ -0,0 +1,153 @@
+-- ======================================
+-- BASELINE DO SCHEMA rafalift
+-- ======================================
+-- Equivalente a db-script/tables.sql, com os tipos das colunas alinhados ao mapeamento
+-- das entidades JPA (role ordinal, textos livres em vez de ENUM, colunas opcionais).
+-- Bancos já existentes são marcados nesta versão (spring.flyway.baseline-on-migrate)
+-- e só recebem as migrações seguintes.
+
+CREATE SCHEMA IF NOT EXISTS rafalift;
+
+-- ======================================
+-- TABELA: USERS
+-- ======================================
+CREATE TABLE rafalift.users (
+  id SERIAL PRIMARY KEY,
+  nome VARCHAR(255),
+  email VARCHAR(255) UNIQUE NOT NULL,
+  senha VARCHAR(255) NOT NULL,
+  data_reg TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  data_att TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  role SMALLINT NOT NULL
+);
+
+-- ======================================
+-- TABELA: WORKOUT CATEGORIES (Treinos fixos A-E)
+-- ======================================
+CREATE TABLE rafalift.workout_categories (
+  id SERIAL PRIMARY KEY,
+  nome VARCHAR(255) UNIQUE NOT NULL
+);
+
+INSERT INTO rafalift.workout_categories (nome) VALUES
+('A'), ('B'), ('C'), ('D'), ('E');
+
+-- ======================================
+-- TABELA: DAYS CATEGORIES (Dias da semana, nomes usados pelo frontend)
+-- ======================================
+CREATE TABLE rafalift.days_categories (
+  id SERIAL PRIMARY KEY,
+  nome VARCHAR(255) UNIQUE NOT NULL
+);
+
+INSERT INTO rafalift.days_categories (nome) VALUES
+('segunda'), ('terca'), ('quarta'), ('quinta'), ('sexta'), ('sabado'), ('domingo');
+
+-- ======================================
+-- TABELA: USER WORKOUTS (Agenda semanal de treinos)
+-- ======================================
+CREATE TABLE rafalift.user_workouts (
+  id SERIAL PRIMARY KEY,
+  user_id INT REFERENCES rafalift.users(id) ON DELETE CASCADE,
+  workout_id INT REFERENCES rafalift.workout_categories(id),
+  UNIQUE(user_id, workout_id)
+);
+
+-- ======================================
+-- TABELA: WORKOUT DAYS (Dias associados ao treinos)
+-- ======================================
+CREATE TABLE rafalift.workout_days (
+  user_workouts_id INT NOT NULL REFERENCES rafalift.user_workouts(id) ON DELETE CASCADE,
+  day_id INT NOT NULL REFERENCES rafalift.days_categories(id),
+  PRIMARY KEY (user_workouts_id, day_id)
+);
+
+-- ======================================
+-- TABELA: EXERCISES (Exercícios do usuário por treino)
+-- ======================================
+CREATE TABLE rafalift.exercises (
+  id SERIAL PRIMARY KEY,
+  workout_id INT NOT NULL REFERENCES rafalift.user_workouts(id) ON DELETE CASCADE,
+  grupo_muscular VARCHAR(255),
+  nome VARCHAR(255),
+  peso INT,
+  series INT,
+  repeticoes INT,
+  tempo INT,
+  anotacao VARCHAR(255)
+);
+
+-- ======================================
+-- TABELA: USER DIETS (Dieta por dia por usuário)
+-- ======================================
+CREATE TABLE rafalift.user_diets (
+  id SERIAL PRIMARY KEY,
+  user_id INT REFERENCES rafalift.users(id) ON DELETE CASCADE,
+  day_id INT REFERENCES rafalift.days_categories(id),
+  UNIQUE(user_id, day_id)
+);
+
+-- ======================================
+-- TABELA: FOODS (Alimentos da dieta por usuário)
+-- ======================================
+CREATE TABLE rafalift.foods (
+  id SERIAL PRIMARY KEY,
+  diet_id INT NOT NULL REFERENCES rafalift.user_diets(id) ON DELETE CASCADE,
+  tipo_alimento VARCHAR(255),
+  alimento VARCHAR(255),
+  peso INT,
+  carboidratos INT,
+  proteinas INT,
+  fibras INT,
+  gorduras INT,
+  calorias INT,
+  anotacao VARCHAR(255),
+  horario TIME
+);
+
+-- ======================================
+-- TABELA: USER GCD (Gasto calórico diário e metas por usuário)
+-- ======================================
+CREATE TABLE rafalift.user_gcd (
+  id SERIAL PRIMARY KEY,
+  user_id INT NOT NULL REFERENCES rafalift.users(id) ON DELETE CASCADE,
+  carboidratos_gcd INT,
+  proteinas_gcd INT,
+  fibras_gcd INT,
+  gorduras_gcd INT,
+  gcd INT,
+  UNIQUE(user_id)
+);
+
+-- ======================================
+-- TRIGGERS E FUNÇÕES
+-- ======================================
+-- Função para criar dietas automaticamente ao criar usuário
+CREATE OR REPLACE FUNCTION rafalift.create_user_diets()
+RETURNS TRIGGER AS $$
+BEGIN
+  INSERT INTO rafalift.user_diets (user_id, day_id)
+  SELECT NEW.id, id FROM rafalift.days_categories;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_create_user_diets
+AFTER INSERT ON rafalift.users
+FOR EACH ROW
+EXECUTE FUNCTION rafalift.create_user_diets();
+
+-- Função para criar treinos automaticamente ao criar usuário
+CREATE OR REPLACE FUNCTION rafalift.create_user_workouts()
+RETURNS TRIGGER AS $$
+BEGIN
+  INSERT INTO rafalift.user_workouts (user_id, workout_id)
+  SELECT NEW.id, id FROM rafalift.workout_categories;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_create_user_workouts
+AFTER INSERT ON rafalift.users
+FOR EACH ROW
+EXECUTE FUNCTION rafalift.create_user_workouts();
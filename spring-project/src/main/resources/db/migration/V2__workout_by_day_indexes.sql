@@ -0,0 +1,8 @@
+-- GET /workouts/{day}: dia -> workout_days -> user_workouts do usuário -> exercises.
+-- user_workouts(user_id, workout_id) e workout_days(user_workouts_id, day_id) já são
+-- cobertos pelas constraints UNIQUE/PK; faltam o acesso por dia e o de exercises por treino.
+CREATE INDEX IF NOT EXISTS idx_workout_days_day_user_workout
+  ON rafalift.workout_days (day_id, user_workouts_id);
+
+CREATE INDEX IF NOT EXISTS idx_exercises_workout_id
+  ON rafalift.exercises (workout_id);
@@ -0,0 +1,3 @@
+-- Exercises passa a usar GenerationType.SEQUENCE com allocationSize = 50 (inserts em batch).
+-- O incremento da sequência precisa bater com o allocationSize do Hibernate.
+ALTER SEQUENCE rafalift.exercises_id_seq INCREMENT BY 50;
@@ -0,0 +1,39 @@
+-- ======================================
+-- TABELA: DIET DAY TOTALS (Totais materializados por dieta do dia)
+-- ======================================
+-- Mantida por deltas no FoodsService (mesma transação da escrita em foods)
+-- e reconciliada periodicamente pelo DietDayTotalsReconciler.
+CREATE TABLE rafalift.diet_day_totals (
+  diet_id INT PRIMARY KEY REFERENCES rafalift.user_diets(id) ON DELETE CASCADE,
+  carboidratos BIGINT NOT NULL DEFAULT 0,
+  proteinas BIGINT NOT NULL DEFAULT 0,
+  fibras BIGINT NOT NULL DEFAULT 0,
+  gorduras BIGINT NOT NULL DEFAULT 0,
+  calorias BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO rafalift.diet_day_totals (diet_id, carboidratos, proteinas, fibras, gorduras, calorias)
+SELECT d.id,
+       COALESCE(SUM(f.carboidratos), 0),
+       COALESCE(SUM(f.proteinas), 0),
+       COALESCE(SUM(f.fibras), 0),
+       COALESCE(SUM(f.gorduras), 0),
+       COALESCE(SUM(f.calorias), 0)
+FROM rafalift.user_diets d
+LEFT JOIN rafalift.foods f ON f.diet_id = d.id
+GROUP BY d.id;
+
+-- Toda dieta nasce com sua linha de totais zerada
+CREATE OR REPLACE FUNCTION rafalift.create_diet_day_totals()
+RETURNS TRIGGER AS $$
+BEGIN
+  INSERT INTO rafalift.diet_day_totals (diet_id) VALUES (NEW.id)
+  ON CONFLICT (diet_id) DO NOTHING;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_create_diet_day_totals
+AFTER INSERT ON rafalift.user_diets
+FOR EACH ROW
+EXECUTE FUNCTION rafalift.create_diet_day_totals();
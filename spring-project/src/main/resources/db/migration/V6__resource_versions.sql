@@ -0,0 +1,5 @@
+-- Carimbos de versão para ETags: user_diets/user_workouts são incrementados a cada escrita
+-- nos filhos (foods, exercises, workout_days); user_gcd usa @Version do JPA.
+ALTER TABLE rafalift.user_diets ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE rafalift.user_workouts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE rafalift.user_gcd ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,25 @@
+-- Índices casados com as consultas dos repositórios (o schema passa a ser só validado pelo
+-- Hibernate: spring.jpa.hibernate.ddl-auto=validate).
+-- Já cobertos por constraints do baseline e mantidos como estão:
+--   users(email)                       UNIQUE -> findByEmail / existsByEmail
+--   user_gcd(user_id)                  UNIQUE -> findByUserId, join das metas
+--   workout_days(user_workouts_id, day_id) PK -> dias do treino, delete por dias
+
+-- foods por dieta, já na ordem de findDTOsByDietId (order by id); também atende
+-- subtractFood, o delete/update por (id, diet_id) e o join do reconcile
+CREATE INDEX IF NOT EXISTS idx_foods_diet_id_id
+  ON rafalift.foods (diet_id, id);
+
+-- exercises por treino na ordem de findDTOsByWorkoutId / findDayRowsByUserIdAndDayId;
+-- substitui o índice só por workout_id criado na V2
+CREATE INDEX IF NOT EXISTS idx_exercises_workout_id_id
+  ON rafalift.exercises (workout_id, id);
+DROP INDEX IF EXISTS rafalift.idx_exercises_workout_id;
+
+-- Lookups de id por (usuário, dia) e (usuário, treino) resolvidos só pelo índice (INCLUDE id),
+-- sem visitar a tabela; as constraints UNIQUE continuam garantindo a unicidade
+CREATE INDEX IF NOT EXISTS idx_user_diets_user_day_covering
+  ON rafalift.user_diets (user_id, day_id) INCLUDE (id);
+
+CREATE INDEX IF NOT EXISTS idx_user_workouts_user_workout_covering
+  ON rafalift.user_workouts (user_id, workout_id) INCLUDE (id);
@@ -0,0 +1,42 @@
+-- Bancos anteriores ao Flyway foram marcados como V1 (baseline-on-migrate) sem executar a V1,
+-- então podem ter os tipos do antigo db-script/tables.sql ou do ddl-auto=update. Converte só o
+-- que diverge da V1; em bancos criados pela V1 este script não altera nada.
+DO $$
+BEGIN
+  -- role: VARCHAR do script antigo -> SMALLINT ordinal (ADMIN = 0, USER = 1)
+  IF (SELECT data_type FROM information_schema.columns
+      WHERE table_schema = 'rafalift' AND table_name = 'users' AND column_name = 'role') <> 'smallint' THEN
+    ALTER TABLE rafalift.users ALTER COLUMN role TYPE SMALLINT USING (
+      CASE
+        WHEN role::text ~ '^[0-9]+$' THEN role::text::smallint
+        WHEN upper(role::text) = 'ADMIN' THEN 0
+        ELSE 1
+      END);
+  END IF;
+
+  -- data_reg/data_att: DATE criado pelo ddl-auto=update (java.sql.Date) -> TIMESTAMP
+  IF (SELECT data_type FROM information_schema.columns
+      WHERE table_schema = 'rafalift' AND table_name = 'users' AND column_name = 'data_reg') = 'date' THEN
+    ALTER TABLE rafalift.users ALTER COLUMN data_reg TYPE TIMESTAMP USING data_reg::timestamp;
+    ALTER TABLE rafalift.users ALTER COLUMN data_reg SET DEFAULT CURRENT_TIMESTAMP;
+  END IF;
+  IF (SELECT data_type FROM information_schema.columns
+      WHERE table_schema = 'rafalift' AND table_name = 'users' AND column_name = 'data_att') = 'date' THEN
+    ALTER TABLE rafalift.users ALTER COLUMN data_att TYPE TIMESTAMP USING data_att::timestamp;
+    ALTER TABLE rafalift.users ALTER COLUMN data_att SET DEFAULT CURRENT_TIMESTAMP;
+  END IF;
+
+  -- grupo_muscular/tipo_alimento: ENUMs do script antigo -> texto livre
+  IF (SELECT data_type FROM information_schema.columns
+      WHERE table_schema = 'rafalift' AND table_name = 'exercises' AND column_name = 'grupo_muscular') = 'USER-DEFINED' THEN
+    ALTER TABLE rafalift.exercises ALTER COLUMN grupo_muscular TYPE VARCHAR(255) USING grupo_muscular::text;
+  END IF;
+  IF (SELECT data_type FROM information_schema.columns
+      WHERE table_schema = 'rafalift' AND table_name = 'foods' AND column_name = 'tipo_alimento') = 'USER-DEFINED' THEN
+    ALTER TABLE rafalift.foods ALTER COLUMN tipo_alimento TYPE VARCHAR(255) USING tipo_alimento::text;
+  END IF;
+END
+$$;
+
+DROP TYPE IF EXISTS rafalift.muscle_group;
+DROP TYPE IF EXISTS rafalift.meal_type;
@@ -0,0 +1,9 @@
+-- Bancos criados pelo antigo db-script/tables.sql têm os dias como 'Mon'..'Sun'; a V1 e os
+-- clientes (Quasar, e o Flutter via services/days.dart) usam 'segunda'..'domingo'.
+-- Renomeia só quando o nome novo ainda não existe; em bancos criados pela V1 não altera nada.
+UPDATE rafalift.days_categories d
+SET nome = m.novo
+FROM (VALUES ('Mon', 'segunda'), ('Tue', 'terca'), ('Wed', 'quarta'), ('Thu', 'quinta'),
+             ('Fri', 'sexta'), ('Sat', 'sabado'), ('Sun', 'domingo')) AS m(antigo, novo)
+WHERE d.nome = m.antigo
+  AND NOT EXISTS (SELECT 1 FROM rafalift.days_categories e WHERE e.nome = m.novo);
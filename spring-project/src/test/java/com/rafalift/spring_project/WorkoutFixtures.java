@@ -0,0 +1,62 @@
+package com.rafalift.spring_project;
+
+import com.rafalift.spring_project.model.*;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Dados de teste compartilhados: usuário novo (o trigger de users cria as 7 dietas e os treinos A-E)
+ * com treinos extras e todos os treinos agendados nos mesmos dias. Precisa de uma transação aberta.
+ */
+public final class WorkoutFixtures {
+
+	private WorkoutFixtures() {
+	}
+
+	public static Users persistUser(EntityManager entityManager, String emailPrefix, String encodedPassword) {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		Users user = new Users("Fixture " + emailPrefix, emailPrefix + "-" + suffix + "@rafalift.com",
+				encodedPassword, UserRole.USER);
+		entityManager.persist(user);
+		entityManager.flush();
+		return user;
+	}
+
+	// Cada treino extra tem a própria categoria, com nome único para não colidir entre execuções
+	public static void persistExtraWorkouts(EntityManager entityManager, Users user, int count) {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		for (int i = 0; i < count; i++) {
+			WorkoutCategories category = new WorkoutCategories();
+			category.setNome("extra-" + i + "-" + suffix);
+			entityManager.persist(category);
+
+			UserWorkouts workout = new UserWorkouts();
+			workout.setUser(user);
+			workout.setWorkoutCategory(category);
+			entityManager.persist(workout);
+		}
+	}
+
+	// Agenda todos os treinos do usuário nos dias informados; retorna os treinos em ordem de id
+	public static List<UserWorkouts> scheduleAllWorkouts(EntityManager entityManager, Users user, String... dayNames) {
+		List<DaysCategories> days = entityManager.createQuery(
+						"select d from DaysCategories d where d.nome in :nomes", DaysCategories.class)
+				.setParameter("nomes", List.of(dayNames))
+				.getResultList();
+		List<UserWorkouts> workouts = entityManager.createQuery(
+						"select uw from UserWorkouts uw where uw.user.id = :userId order by uw.id", UserWorkouts.class)
+				.setParameter("userId", user.getId())
+				.getResultList();
+		for (UserWorkouts workout : workouts) {
+			for (DaysCategories day : days) {
+				WorkoutDays workoutDay = new WorkoutDays();
+				workoutDay.setUserWorkout(workout);
+				workoutDay.setDay(day);
+				entityManager.persist(workoutDay);
+			}
+		}
+		return workouts;
+	}
+}
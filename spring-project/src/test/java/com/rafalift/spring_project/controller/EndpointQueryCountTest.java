@@ -0,0 +1,262 @@
+package com.rafalift.spring_project.controller;
+
+import com.rafalift.spring_project.TestcontainersConfiguration;
+import com.rafalift.spring_project.WorkoutFixtures;
+import com.rafalift.spring_project.model.*;
+import com.rafalift.spring_project.security.TokenService;
+import com.rafalift.spring_project.security.UserPrincipal;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de comandos SQL por endpoint. Cada endpoint roda contra contas com 1, 10 e 100 treinos,
+ * alimentos e exercícios; a contagem precisa ser a mesma nos três tamanhos (nada de consulta por linha)
+ * e ficar dentro do orçamento declarado. A contagem é a da própria aplicação: o StatementCounter no
+ * DataSource (JPA, consultas nativas e JdbcTemplate, sem buscas de sequência), registrada por rota pelo
+ * StatementsPerRequestFilter. Os caches de contexto já estão aquecidos.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class EndpointQueryCountTest {
+
+	private static final int[] SIZES = {1, 10, 100};
+	private static final String STATEMENTS_METRIC = "http.server.requests.statements";
+	private static final String PASSWORD = "budget-password";
+	private static final String NEW_PASSWORD = "budget-password-2";
+
+	// Orçamentos na ordem de execução: leituras primeiro, depois as escritas sobre os dados semeados
+	private static final List<EndpointBudget> BUDGETS = List.of(
+			new EndpointBudget("GET /DietDay/{day}", 2, seed -> get("/DietDay/segunda")),
+			new EndpointBudget("GET /DietDay/{day}/summary", 2, seed -> get("/DietDay/segunda/summary")),
+			new EndpointBudget("GET /WorkoutSet/{workout}", 2, seed -> get("/WorkoutSet/A")),
+			new EndpointBudget("GET /workouts", 2, seed -> get("/workouts")),
+			new EndpointBudget("GET /workouts/{day}", 1, seed -> get("/workouts/segunda")),
+			new EndpointBudget("GET /week", 4, seed -> get("/week")),
+			new EndpointBudget("GET /UserGcd", 0, seed -> get("/UserGcd")),
+			new EndpointBudget("GET /account", 1, seed -> get("/account")),
+			new EndpointBudget("POST /DietDay/{day}", 3, seed -> json(post("/DietDay/segunda"), food(100))),
+			new EndpointBudget("POST /DietDay/{day}/batch", 3,
+					seed -> json(post("/DietDay/segunda/batch"), "[" + String.join(",", List.of(food(1), food(2), food(3))) + "]")),
+			new EndpointBudget("PUT /DietDay/{day}/{foodId}", 4,
+					seed -> json(put("/DietDay/segunda/" + seed.foodId()), food(150))),
+			new EndpointBudget("DELETE /DietDay/{day}/{foodId}", 3, seed -> delete("/DietDay/segunda/" + seed.foodId())),
+			new EndpointBudget("POST /WorkoutSet/{workout}", 2, seed -> json(post("/WorkoutSet/A"), exercise(40))),
+			new EndpointBudget("POST /WorkoutSet/{workout}/batch", 6, seed -> json(post("/WorkoutSet/A/batch"),
+					"{\"upserts\":[" + exercise(42, seed.exerciseId()) + "," + exercise(44) + "," + exercise(46) + "],"
+							+ "\"deletions\":[" + seed.spareExerciseId() + "]}")),
+			new EndpointBudget("PUT /WorkoutSet/{workout}/{exerciseId}", 2,
+					seed -> json(put("/WorkoutSet/A/" + seed.exerciseId()), exercise(45))),
+			new EndpointBudget("DELETE /WorkoutSet/{workout}/{exerciseId}", 2,
+					seed -> delete("/WorkoutSet/A/" + seed.exerciseId())),
+			new EndpointBudget("POST /workouts/set-days", 4,
+					seed -> json(post("/workouts/set-days"), "{\"setName\":\"A\",\"days\":[\"terca\",\"quinta\"]}")),
+			new EndpointBudget("PUT /UserGcd", 2, seed -> json(put("/UserGcd"),
+					"{\"carboidratos_gcd\":260,\"proteinas_gcd\":170,\"fibras_gcd\":30,\"gorduras_gcd\":70,\"gcd\":2500}")),
+			new EndpointBudget("DELETE /UserGcd", 2, seed -> delete("/UserGcd")),
+			new EndpointBudget("POST /UserGcd", 1, seed -> json(post("/UserGcd"),
+					"{\"carboidratos_gcd\":240,\"proteinas_gcd\":150,\"fibras_gcd\":30,\"gorduras_gcd\":60,\"gcd\":2300}")),
+			// Login e cadastro passam pelo pool de hashing; o StatementCounter acompanha a tarefa até lá
+			new EndpointBudget("POST /auth/login", 1, seed -> json(post("/auth/login"),
+					"{\"login\":\"%s\",\"password\":\"%s\"}".formatted(seed.email(), PASSWORD))),
+			new EndpointBudget("POST /auth/refresh", 1, seed -> json(post("/auth/refresh"),
+					"{\"refresh_token\":\"%s\"}".formatted(seed.refreshToken()))),
+			new EndpointBudget("GET /auth/validate", 1, seed -> get("/auth/validate")),
+			new EndpointBudget("GET /auth/check", 0, seed -> get("/auth/check")),
+			new EndpointBudget("POST /auth/logout", 0, seed -> post("/auth/logout")),
+			new EndpointBudget("POST /auth/register", 2, seed -> json(post("/auth/register"),
+					"{\"nome\":\"Budget\",\"email\":\"new-%s\",\"senha\":\"%s\"}".formatted(seed.email(), PASSWORD))),
+			// Conta por último: a troca de senha vale para a exclusão, que apaga o usuário semeado
+			new EndpointBudget("PUT /account/name", 4, seed -> json(put("/account/name"), "{\"newName\":\"Budget Renamed\"}")),
+			new EndpointBudget("PUT /account/password", 4, seed -> json(put("/account/password"),
+					"{\"currentPassword\":\"%s\",\"newPassword\":\"%s\"}".formatted(PASSWORD, NEW_PASSWORD))),
+			new EndpointBudget("DELETE /account", 4,
+					seed -> delete("/account").contentType(MediaType.TEXT_PLAIN).content(NEW_PASSWORD))
+	);
+
+	private record EndpointBudget(String name, int budget, Function<Seed, MockHttpServletRequestBuilder> request) {}
+
+	private record Seed(UserPrincipal principal, String email, String refreshToken,
+						Integer foodId, Integer exerciseId, Integer spareExerciseId) {}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Test
+	void endpointStatementCountsAreConstantAndWithinBudget() throws Exception {
+		Map<String, List<Integer>> counts = new LinkedHashMap<>();
+		for (int size : SIZES) {
+			Seed seed = seed(size);
+			warmUpCaches(seed);
+			for (EndpointBudget endpoint : BUDGETS) {
+				counts.computeIfAbsent(endpoint.name(), name -> new ArrayList<>())
+						.add(countStatements(seed, endpoint));
+			}
+		}
+
+		List<String> failures = new ArrayList<>();
+		for (EndpointBudget endpoint : BUDGETS) {
+			List<Integer> endpointCounts = counts.get(endpoint.name());
+			boolean constant = endpointCounts.stream().distinct().count() == 1;
+			boolean withinBudget = endpointCounts.stream().allMatch(count -> count <= endpoint.budget());
+			if (!constant || !withinBudget) {
+				failures.add(endpoint.name() + ": orçamento " + endpoint.budget()
+						+ ", comandos com 1/10/100 itens = " + endpointCounts);
+			}
+		}
+		assertTrue(failures.isEmpty(), () -> "endpoints fora do orçamento de SQL:\n" + String.join("\n", failures));
+	}
+
+	// Lê a contagem que o StatementsPerRequestFilter registra por método e rota (o nome do orçamento)
+	private int countStatements(Seed seed, EndpointBudget endpoint) throws Exception {
+		String[] route = endpoint.name().split(" ", 2);
+		double before = recordedStatements(route[0], route[1]);
+		mockMvc.perform(endpoint.request().apply(seed).with(authenticated(seed))).andExpect(status().is2xxSuccessful());
+		return (int) (recordedStatements(route[0], route[1]) - before);
+	}
+
+	private double recordedStatements(String method, String uri) {
+		DistributionSummary summary = meterRegistry.find(STATEMENTS_METRIC).tags("method", method, "uri", uri).summary();
+		return summary != null ? summary.totalAmount() : 0;
+	}
+
+	// Ids de dieta/treino e metas vêm de caches por usuário; a primeira chamada de cada um fica fora da medição
+	private void warmUpCaches(Seed seed) throws Exception {
+		for (String path : List.of("/DietDay/segunda", "/WorkoutSet/A", "/UserGcd")) {
+			mockMvc.perform(get(path).with(authenticated(seed))).andExpect(status().isOk());
+		}
+	}
+
+	private static RequestPostProcessor authenticated(Seed seed) {
+		return authentication(new UsernamePasswordAuthenticationToken(
+				seed.principal(), null, seed.principal().getAuthorities()));
+	}
+
+	// Usuário novo (o trigger cria as 7 dietas e os treinos A-E) com `size` treinos extras, alimentos na
+	// segunda e exercícios no treino A (mais um exercício extra para a remoção em lote); todos os treinos
+	// ficam na segunda e na quinta. A senha é um hash BCrypt real, para login, troca de senha e exclusão
+	private Seed seed(int size) {
+		return transactionTemplate.execute(status -> {
+			Users user = WorkoutFixtures.persistUser(entityManager, "query-budget", passwordEncoder.encode(PASSWORD));
+			WorkoutFixtures.persistExtraWorkouts(entityManager, user, size);
+			List<UserWorkouts> workouts = WorkoutFixtures.scheduleAllWorkouts(entityManager, user, "segunda", "quinta");
+
+			UserWorkouts setA = workouts.stream()
+					.filter(workout -> "A".equals(workout.getWorkoutCategory().getNome()))
+					.findFirst()
+					.orElseThrow();
+			UserDiets mondayDiet = entityManager.createQuery(
+							"select d from UserDiets d where d.user.id = :userId and d.day.nome = 'segunda'", UserDiets.class)
+					.setParameter("userId", user.getId())
+					.getSingleResult();
+
+			Integer foodId = null;
+			Integer exerciseId = null;
+			for (int i = 0; i < size; i++) {
+				Foods food = new Foods();
+				food.setDiet(mondayDiet);
+				food.setAlimento("alimento " + i);
+				food.setCarboidratos(20);
+				food.setProteinas(10);
+				food.setFibras(3);
+				food.setGorduras(5);
+				food.setCalorias(165);
+				food.setHorario(LocalTime.NOON);
+				entityManager.persist(food);
+
+				Exercises exercise = new Exercises();
+				exercise.setWorkout(setA);
+				exercise.setNome("exercício " + i);
+				exercise.setSeries(4);
+				exercise.setRepeticoes(10);
+				entityManager.persist(exercise);
+
+				if (i == 0) {
+					foodId = food.getId();
+					exerciseId = exercise.getId();
+				}
+			}
+
+			Exercises spare = new Exercises();
+			spare.setWorkout(setA);
+			spare.setNome("exercício extra");
+			spare.setSeries(3);
+			spare.setRepeticoes(12);
+			entityManager.persist(spare);
+
+			UserGCD goals = new UserGCD();
+			goals.setUser(user);
+			goals.setCarboidratos_gcd(250);
+			goals.setProteinas_gcd(160);
+			goals.setFibras_gcd(30);
+			goals.setGorduras_gcd(70);
+			goals.setGcd(2400);
+			entityManager.persist(goals);
+
+			return new Seed(UserPrincipal.from(user), user.getEmail(), tokenService.generateRefreshToken(user),
+					foodId, exerciseId, spare.getId());
+		});
+	}
+
+	private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+		return request.contentType(MediaType.APPLICATION_JSON).content(body);
+	}
+
+	private static String food(int peso) {
+		return """
+				{"tipo_alimento":"lunch","alimento":"budget","peso":%d,"carboidratos":20,"proteinas":10,\
+				"fibras":3,"gorduras":5,"calorias":165,"anotacao":"","horario":"12:00"}""".formatted(peso);
+	}
+
+	private static String exercise(int peso) {
+		return """
+				{"grupo_muscular":"peito","nome":"budget","peso":%d,"series":4,"repeticoes":10,\
+				"tempo":60,"anotacao":""}""".formatted(peso);
+	}
+
+	private static String exercise(int peso, Integer id) {
+		return "{\"id\":" + id + "," + exercise(peso).substring(1);
+	}
+}
@@ -0,0 +1,53 @@
+package com.rafalift.spring_project.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SlowQueryLogTest {
+
+	@Test
+	void countsEveryStatementAboveTheThresholdEvenWhenNotSampled() {
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SlowQueryLog slowQueryLog = new SlowQueryLog(provider(meterRegistry), Duration.ofMillis(200), 0.0);
+
+		slowQueryLog.afterQuery(execution(199), List.of(new QueryInfo("select 1")));
+		slowQueryLog.afterQuery(execution(200), List.of(new QueryInfo("select 2")));
+		slowQueryLog.afterQuery(execution(950), List.of(new QueryInfo("select 3")));
+
+		assertEquals(2.0, meterRegistry.get("jdbc.slow_queries").counter().count());
+	}
+
+	@Test
+	void registersNothingWhileStatementsAreFast() {
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SlowQueryLog slowQueryLog = new SlowQueryLog(provider(meterRegistry), Duration.ofMillis(200), 1.0);
+
+		slowQueryLog.afterQuery(execution(10), List.of(new QueryInfo("select 1")));
+
+		assertNull(meterRegistry.find("jdbc.slow_queries").counter());
+	}
+
+	private static ObjectProvider<MeterRegistry> provider(MeterRegistry meterRegistry) {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("meterRegistry", meterRegistry);
+		return beanFactory.getBeanProvider(MeterRegistry.class);
+	}
+
+	private static ExecutionInfo execution(long elapsedMillis) {
+		ExecutionInfo execInfo = new ExecutionInfo();
+		execInfo.setElapsedTime(elapsedMillis);
+		execInfo.setSuccess(true);
+		return execInfo;
+	}
+}
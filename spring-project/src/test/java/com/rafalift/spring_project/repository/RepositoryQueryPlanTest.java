@@ -0,0 +1,178 @@
+package com.rafalift.spring_project.repository;
+
+import com.rafalift.spring_project.TestcontainersConfiguration;
+import com.rafalift.spring_project.model.Exercises;
+import com.rafalift.spring_project.model.Foods;
+import com.rafalift.spring_project.model.UserRole;
+import com.rafalift.spring_project.model.Users;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Executa as consultas que os serviços usam, captura o SQL gerado pelo Hibernate e roda
+ * EXPLAIN (GENERIC_PLAN) de cada uma com enable_seqscan desligado: se ainda assim o plano
+ * tiver um Seq Scan, não existe índice que atenda a consulta.
+ * Finders derivados que nenhum serviço chama ficam de fora.
+ */
+@SpringBootTest
+@Import({TestcontainersConfiguration.class, RepositoryQueryPlanTest.CapturingInspectorConfiguration.class})
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanTest {
+
+	private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+	private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class CapturingInspectorConfiguration {
+
+		@Bean
+		@Order(Ordered.LOWEST_PRECEDENCE)
+		HibernatePropertiesCustomizer capturingStatementInspector() {
+			return properties -> {
+				Object previous = properties.get(AvailableSettings.STATEMENT_INSPECTOR);
+				properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+					String inspected = previous instanceof StatementInspector inspector ? inspector.inspect(sql) : sql;
+					CAPTURED.add(inspected);
+					return inspected;
+				});
+			};
+		}
+	}
+
+	@Autowired
+	private UsersRepository usersRepository;
+
+	@Autowired
+	private UserDietsRepository userDietsRepository;
+
+	@Autowired
+	private DietDayTotalsRepository dietDayTotalsRepository;
+
+	@Autowired
+	private FoodsRepository foodsRepository;
+
+	@Autowired
+	private ExercisesRepository exercisesRepository;
+
+	@Autowired
+	private UserWorkoutRepository userWorkoutRepository;
+
+	@Autowired
+	private UserGCDRepository userGCDRepository;
+
+	@Autowired
+	private WorkoutDayRepository workoutDayRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void repositoryQueriesDoNotNeedSequentialScans() {
+		Users user = transactionTemplate.execute(status -> usersRepository.save(new Users(
+				"Query Plan", "query-plan-" + UUID.randomUUID().toString().substring(0, 8) + "@rafalift.com",
+				"unused", UserRole.USER)));
+
+		CAPTURED.clear();
+		transactionTemplate.executeWithoutResult(status -> {
+			runRepositoryQueries(user);
+			status.setRollbackOnly();
+		});
+
+		List<String> statements = CAPTURED.stream().distinct().toList();
+		assertFalse(statements.isEmpty(), "nenhum SQL capturado; o StatementInspector do teste não foi registrado");
+
+		List<String> sequentialScans = new ArrayList<>();
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+			for (String sql : statements) {
+				String plan = String.join("\n", jdbcTemplate.queryForList(
+						"EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class));
+				if (plan.contains("Seq Scan")) {
+					sequentialScans.add(sql + "\n" + plan);
+				}
+			}
+			status.setRollbackOnly();
+		});
+
+		assertTrue(sequentialScans.isEmpty(), () -> "consultas sem índice:\n\n" + String.join("\n\n", sequentialScans));
+	}
+
+	private void runRepositoryQueries(Users user) {
+		Integer userId = user.getId();
+		usersRepository.findByEmail(user.getEmail());
+		usersRepository.existsByEmail(user.getEmail());
+		userGCDRepository.findByUserId(userId);
+
+		Integer dietId = userDietsRepository.findIdByUserIdAndDayId(userId, 1).orElseThrow();
+		userDietsRepository.findTotalsByDietId(dietId);
+		userDietsRepository.findWeekRowsByUserId(userId);
+		userDietsRepository.findIdsAfter(0, Limit.of(10));
+		userDietsRepository.incrementVersion(dietId);
+		userDietsRepository.findVersionById(dietId);
+		userDietsRepository.sumVersionsByUserId(userId);
+
+		Foods food = new Foods();
+		foodsRepository.findDTOsByDietId(dietId);
+		foodsRepository.updateByIdAndDietId(0, dietId, food);
+		dietDayTotalsRepository.addDelta(dietId, 1, 1, 1, 1, 1);
+		dietDayTotalsRepository.subtractFood(0, dietId);
+		dietDayTotalsRepository.lockByDietIds(List.of(dietId));
+		dietDayTotalsRepository.reconcile(List.of(dietId));
+		foodsRepository.deleteByIdAndDietId(0, dietId);
+
+		Integer workoutId = userWorkoutRepository.findIdByUserIdAndWorkoutCategoryId(userId, 1).orElseThrow();
+		userWorkoutRepository.findWorkoutDayRowsByUserId(userId);
+		userWorkoutRepository.findWeekWorkoutRowsByUserId(userId);
+		userWorkoutRepository.incrementVersion(workoutId);
+		userWorkoutRepository.findVersionById(workoutId);
+		userWorkoutRepository.sumVersionsByUserId(userId);
+		workoutDayRepository.findDayIdsByUserWorkoutId(workoutId);
+		workoutDayRepository.deleteByUserWorkoutIdAndDayIds(workoutId, Set.of(1, 2));
+
+		Exercises exercise = new Exercises();
+		exercisesRepository.findDTOsByWorkoutId(workoutId);
+		exercisesRepository.findDayExercisesByUserIdAndDayId(userId, 1);
+		exercisesRepository.findByWorkoutIdAndIdIn(workoutId, Set.of(0));
+		exercisesRepository.updateByIdAndWorkoutId(0, workoutId, exercise);
+		exercisesRepository.deleteByIdAndWorkoutId(0, workoutId);
+		exercisesRepository.deleteByWorkoutIdAndIdIn(workoutId, Set.of(0));
+	}
+
+	// JDBC usa "?"; o EXPLAIN (GENERIC_PLAN) do Postgres 16 espera $1, $2, ...
+	private static String numberParameters(String sql) {
+		Matcher matcher = PARAMETER.matcher(sql);
+		StringBuilder numbered = new StringBuilder();
+		int index = 0;
+		while (matcher.find()) {
+			matcher.appendReplacement(numbered, "\\$" + ++index);
+		}
+		return matcher.appendTail(numbered).toString();
+	}
+}
@@ -0,0 +1,96 @@
+package com.rafalift.spring_project.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowCounterTest {
+
+	private static final long BUCKET_MILLIS = 10_000;
+
+	@Test
+	void rejectsOnceTheLimitIsReachedWithinTheWindow() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(1024, 6, BUCKET_MILLIS);
+		long now = 1_000_000_000L;
+
+		for (int i = 0; i < 3; i++) {
+			assertTrue(counter.tryAcquire("user@rafalift.com", 3, now + i * BUCKET_MILLIS));
+		}
+		assertFalse(counter.tryAcquire("user@rafalift.com", 3, now + 3 * BUCKET_MILLIS));
+	}
+
+	@Test
+	void allowsAgainWhenOldBucketsLeaveTheWindow() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(1024, 6, BUCKET_MILLIS);
+		long now = 1_000_000_000L;
+
+		assertTrue(counter.tryAcquire("10.0.0.1", 2, now));
+		assertTrue(counter.tryAcquire("10.0.0.1", 2, now));
+		assertFalse(counter.tryAcquire("10.0.0.1", 2, now + BUCKET_MILLIS));
+
+		// Seis baldes depois, as tentativas do primeiro balde já não contam
+		assertTrue(counter.tryAcquire("10.0.0.1", 2, now + 6 * BUCKET_MILLIS));
+	}
+
+	@Test
+	void rejectedAttemptsDoNotExtendTheBlock() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(1024, 6, BUCKET_MILLIS);
+		long now = 1_000_000_000L;
+
+		assertTrue(counter.tryAcquire("user@rafalift.com", 1, now));
+		for (int i = 1; i < 6; i++) {
+			assertFalse(counter.tryAcquire("user@rafalift.com", 1, now + i * BUCKET_MILLIS));
+		}
+		assertTrue(counter.tryAcquire("user@rafalift.com", 1, now + 6 * BUCKET_MILLIS));
+	}
+
+	@Test
+	void concurrentBurstNeverExceedsTheLimit() throws Exception {
+		SlidingWindowCounter counter = new SlidingWindowCounter(1024, 6, BUCKET_MILLIS);
+		long now = 1_000_000_000L;
+		int threads = 32;
+		int limit = 10;
+
+		// Janela já com tentativas em um balde anterior, para a soma dos outros baldes entrar na conta
+		for (int i = 0; i < 4; i++) {
+			assertTrue(counter.tryAcquire("burst@rafalift.com", limit, now - BUCKET_MILLIS));
+		}
+
+		AtomicInteger acquired = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < 100; i++) {
+						if (counter.tryAcquire("burst@rafalift.com", limit, now)) {
+							acquired.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(limit - 4, acquired.get());
+	}
+}
@@ -0,0 +1,83 @@
+package com.rafalift.spring_project.service;
+
+import com.rafalift.spring_project.TestcontainersConfiguration;
+import com.rafalift.spring_project.WorkoutFixtures;
+import com.rafalift.spring_project.dto.UserWorkoutDTO;
+import com.rafalift.spring_project.model.*;
+import com.rafalift.spring_project.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class WorkoutServiceQueryCountTest {
+
+	@Autowired
+	private WorkoutService workoutService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {0, 5, 20})
+	void getUserWorkoutsRunsOneStatementRegardlessOfWorkoutCount(int extraWorkouts) {
+		Users user = seedUserWithWorkouts(extraWorkouts);
+		long workoutCount = countWorkouts(user);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				UserPrincipal.from(user), null, UserPrincipal.from(user).getAuthorities()));
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<UserWorkoutDTO> workouts = workoutService.getUserWorkouts();
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(workoutCount, workouts.size());
+		workouts.forEach(workout -> assertEquals(2, workout.days().size()));
+	}
+
+	// O trigger de users já cria um treino por categoria; somamos treinos extras
+	// e cada treino do usuário recebe dois dias, para exercitar o agrupamento
+	private Users seedUserWithWorkouts(int extraWorkouts) {
+		return transactionTemplate.execute(status -> {
+			Users user = WorkoutFixtures.persistUser(entityManager, "query-count", "unused");
+			WorkoutFixtures.persistExtraWorkouts(entityManager, user, extraWorkouts);
+			WorkoutFixtures.scheduleAllWorkouts(entityManager, user, "segunda", "quinta");
+			return user;
+		});
+	}
+
+	private long countWorkouts(Users user) {
+		return entityManager.createQuery("select count(uw) from UserWorkouts uw where uw.user.id = :userId", Long.class)
+				.setParameter("userId", user.getId())
+				.getSingleResult();
+	}
+}